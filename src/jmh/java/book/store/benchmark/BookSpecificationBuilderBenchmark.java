@@ -0,0 +1,48 @@
+package book.store.benchmark;
+
+import book.store.dto.book.BookSearchParametersDto;
+import book.store.model.Book;
+import book.store.repository.book.BookSpecificationBuilder;
+import book.store.repository.book.BookSpecificationProviderManager;
+import book.store.repository.book.spec.AuthorSpecificationProvider;
+import book.store.repository.book.spec.TitleSpecificationProvider;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookSpecificationBuilderBenchmark {
+    private BookSpecificationBuilder bookSpecificationBuilder;
+    private BookSearchParametersDto searchParameters;
+
+    @Setup
+    public void setUp() {
+        bookSpecificationBuilder = new BookSpecificationBuilder(
+                new BookSpecificationProviderManager(List.of(
+                        new AuthorSpecificationProvider(), new TitleSpecificationProvider())));
+        searchParameters = new BookSearchParametersDto(
+                new String[]{"Kobzar", "The Forest Song"},
+                new String[]{"Taras Shevchenko", "Lesya Ukrainka"},
+                null);
+    }
+
+    @Benchmark
+    public Specification<Book> build() {
+        return bookSpecificationBuilder.build(searchParameters);
+    }
+}
@@ -0,0 +1,39 @@
+package book.store.benchmark;
+
+import book.store.validation.email.EmailValidator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailValidatorBenchmark {
+    private EmailValidator emailValidator;
+
+    @Setup
+    public void setUp() {
+        emailValidator = new EmailValidator();
+    }
+
+    @Benchmark
+    public boolean validEmail() {
+        return emailValidator.isValid("john.doe@example.com", null);
+    }
+
+    @Benchmark
+    public boolean invalidEmail() {
+        return emailValidator.isValid("john.doe@@example", null);
+    }
+}
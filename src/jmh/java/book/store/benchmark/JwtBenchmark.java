@@ -0,0 +1,64 @@
+package book.store.benchmark;
+
+import book.store.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+    private static final String SECRET = "very-very-long-and-complex-key-qwerty-1234567890";
+    private static final String USERNAME = "user@gmail.com";
+    private static final long EXPIRATION = 86_400_000L;
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION);
+        token = jwtUtil.generateToken(USERNAME);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(USERNAME);
+    }
+
+    @Benchmark
+    public Claims verifyCachedToken() {
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public Claims verifyUncachedToken(UncachedState state) {
+        return state.jwtUtil.verify(token);
+    }
+
+    @State(Scope.Thread)
+    public static class UncachedState {
+        private JwtUtil jwtUtil;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            jwtUtil = new JwtUtil(SECRET);
+        }
+    }
+}
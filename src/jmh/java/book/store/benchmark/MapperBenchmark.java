@@ -0,0 +1,96 @@
+package book.store.benchmark;
+
+import book.store.dto.book.BookDto;
+import book.store.dto.shopping.cart.ShoppingCartDto;
+import book.store.dto.shopping.cart.item.CartItemDto;
+import book.store.mapper.BookMapper;
+import book.store.mapper.CartItemMapper;
+import book.store.mapper.ShoppingCartMapper;
+import book.store.mapper.impl.BookMapperImpl;
+import book.store.mapper.impl.CartItemMapperImpl;
+import book.store.mapper.impl.ShoppingCartMapperImpl;
+import book.store.model.Book;
+import book.store.model.CartItem;
+import book.store.model.Category;
+import book.store.model.ShoppingCart;
+import book.store.model.User;
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"1", "20"})
+    private int size;
+    private final BookMapper bookMapper = new BookMapperImpl();
+    private final CartItemMapper cartItemMapper = new CartItemMapperImpl();
+    private final ShoppingCartMapper shoppingCartMapper =
+            new ShoppingCartMapperImpl(cartItemMapper);
+    private Book book;
+    private ShoppingCart shoppingCart;
+
+    @Setup
+    public void setUp() {
+        Set<Category> categories = new HashSet<>();
+        for (long id = 1; id <= size; id++) {
+            categories.add(new Category(id).setName("Category " + id));
+        }
+        book = createBook(1L).setCategories(categories);
+        Set<CartItem> cartItems = new LinkedHashSet<>();
+        shoppingCart = new ShoppingCart()
+                .setId(1L)
+                .setUser(new User().setId(1L))
+                .setCartItems(cartItems);
+        for (long id = 1; id <= size; id++) {
+            cartItems.add(new CartItem()
+                    .setId(id)
+                    .setShoppingCart(shoppingCart)
+                    .setBook(createBook(id))
+                    .setQuantity(2));
+        }
+    }
+
+    @Benchmark
+    public BookDto bookToDto() {
+        return bookMapper.toDto(book);
+    }
+
+    @Benchmark
+    public Set<CartItemDto> cartItemsToDtoSet() {
+        return cartItemMapper.toCartItemDtoSet(shoppingCart.getCartItems());
+    }
+
+    @Benchmark
+    public ShoppingCartDto shoppingCartToDto() {
+        return shoppingCartMapper.toDto(shoppingCart);
+    }
+
+    private Book createBook(Long id) {
+        return new Book()
+                .setId(id)
+                .setTitle("Title " + id)
+                .setAuthor("Author " + id)
+                .setIsbn("ISBN-" + id)
+                .setPrice(BigDecimal.TEN)
+                .setDescription("Description " + id)
+                .setCoverImage("cover-" + id + ".png");
+    }
+}
@@ -0,0 +1,43 @@
+package book.store.catalog;
+
+import book.store.dto.book.BookImportReportDto;
+import book.store.service.BookImportService;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "catalog-import.file")
+@RequiredArgsConstructor
+public class BookImportRunner implements ApplicationRunner {
+    private final BookImportService bookImportService;
+    private final ConfigurableApplicationContext applicationContext;
+    @Value("${catalog-import.file}")
+    private Path file;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        CatalogFormat format = CatalogFormat.fromFileName(file.getFileName().toString());
+        BookImportReportDto report;
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            report = bookImportService.importBooks(inputStream, format);
+        }
+        report.getErrors().forEach(error -> log.warn("Row {} (ISBN {}) was not imported: {}",
+                error.getRow(), error.getIsbn(), error.getMessage()));
+        log.info("Imported {} of {} rows from {}, {} failed", report.getImported(),
+                report.getRows(), file, report.getFailed());
+        int exitCode = report.getFailed() == 0 ? 0 : 1;
+        System.exit(SpringApplication.exit(applicationContext, () -> exitCode));
+    }
+}
@@ -0,0 +1,46 @@
+package book.store.catalog;
+
+import book.store.exception.InvalidRequestException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.http.MediaType;
+
+public enum CatalogFormat {
+    CSV(CatalogFormat.TEXT_CSV_VALUE, List.of(".csv")),
+    NDJSON(MediaType.APPLICATION_NDJSON_VALUE, List.of(".ndjson", ".jsonl"));
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+    private final List<String> fileExtensions;
+
+    CatalogFormat(String mediaType, List<String> fileExtensions) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.fileExtensions = fileExtensions;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static CatalogFormat fromContentType(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return Arrays.stream(values())
+                .filter(format -> format.mediaType.includes(mediaType))
+                .findFirst()
+                .orElseThrow(() -> new InvalidRequestException(
+                        "Can't import books from content type " + contentType));
+    }
+
+    public static CatalogFormat fromFileName(String fileName) {
+        String lowerCaseFileName = fileName.toLowerCase(Locale.ROOT);
+        return Arrays.stream(values())
+                .filter(format -> format.fileExtensions.stream()
+                        .anyMatch(lowerCaseFileName::endsWith))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Can't import books from file " + fileName
+                                + ", expected a .csv, .ndjson or .jsonl file"));
+    }
+}
@@ -0,0 +1,55 @@
+package book.store.config;
+
+import book.store.model.Book;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.cache.SpringCacheBasedUserCache;
+
+@EnableCaching
+@Configuration
+public class CacheConfig {
+    public static final String BOOKS = "books";
+    public static final String BOOKS_BY_CATEGORY = "booksByCategory";
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORY_PAGES = "categoryPages";
+    public static final String USER_DETAILS = "userDetails";
+    public static final String TOKEN_VERSIONS = "tokenVersions";
+    public static final String SHOPPING_CART_IDS = "shoppingCartIds";
+    public static final String BOOK_CATEGORIES = Book.class.getName() + ".categories";
+    public static final String BOOK_REGION = "book-entities";
+    public static final String BOOK_CATEGORIES_REGION = "book-categories";
+    public static final String CATEGORY_REGION = "category-entities";
+    public static final String ROLE_REGION = "role-entities";
+    public static final String USER_ROLES_REGION = "user-roles";
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "caffeine",
+            matchIfMissing = true)
+    public CacheManager cacheManager(
+            @Value("${cache.catalog.spec}") String catalogSpec,
+            @Value("${cache.user-details.spec}") String userDetailsSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCacheNames(List.of());
+        List.of(BOOKS, BOOKS_BY_CATEGORY, CATEGORIES, CATEGORY_PAGES).forEach(cacheName ->
+                cacheManager.registerCustomCache(cacheName, Caffeine.from(catalogSpec).build()));
+        List.of(USER_DETAILS, TOKEN_VERSIONS, SHOPPING_CART_IDS).forEach(cacheName ->
+                cacheManager.registerCustomCache(cacheName,
+                        Caffeine.from(userDetailsSpec).build()));
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    @Bean
+    public UserCache userCache(CacheManager cacheManager) throws Exception {
+        return new SpringCacheBasedUserCache(cacheManager.getCache(USER_DETAILS));
+    }
+}
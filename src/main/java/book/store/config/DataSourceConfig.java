@@ -0,0 +1,76 @@
+package book.store.config;
+
+import book.store.replica.ReplicaLagMonitor;
+import book.store.replica.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.url")
+public class DataSourceConfig {
+    private static final String PRIMARY_POOL_NAME = "PrimaryPool";
+    private static final String REPLICA_POOL_NAME = "ReplicaPool";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(PRIMARY_POOL_NAME);
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${datasource.replica.url}") String url,
+            @Value("${datasource.replica.username:${spring.datasource.username:}}")
+            String username,
+            @Value("${datasource.replica.password:${spring.datasource.password:}}")
+            String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName(REPLICA_POOL_NAME);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             HikariDataSource replicaDataSource) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            HikariDataSource replicaDataSource,
+            ReplicaRoutingDataSource replicaRoutingDataSource,
+            ThreadPoolTaskSchedulerBuilder threadPoolTaskSchedulerBuilder,
+            @Value("${datasource.replica.max-lag-seconds}") long maxLagSeconds,
+            @Value("${datasource.replica.lag-check-interval}") long interval) {
+        return new ReplicaLagMonitor(new JdbcTemplate(replicaDataSource),
+                replicaRoutingDataSource, threadPoolTaskSchedulerBuilder, maxLagSeconds,
+                interval);
+    }
+}
@@ -0,0 +1,19 @@
+package book.store.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+    public static final String SERVICE_TIMER = "book.store.service";
+    public static final String AUTHENTICATION_TIMER = "book.store.jwt.authentication";
+    public static final String SQL_STATEMENTS_SUMMARY = "book.store.sql.statements";
+    public static final String SQL_BUDGET_EXCEEDED_COUNTER = "book.store.sql.budget.exceeded";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
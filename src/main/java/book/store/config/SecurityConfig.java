@@ -4,17 +4,21 @@ import static org.springframework.security.config.Customizer.withDefaults;
 
 import book.store.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -22,6 +26,9 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @Configuration
 @RequiredArgsConstructor
 public class SecurityConfig {
+    public static final String PROMETHEUS_ENDPOINT = "/actuator/prometheus";
+    public static final String METRICS_SCRAPER_ROLE = "METRICS_SCRAPER";
+
     private final UserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -31,6 +38,32 @@ public class SecurityConfig {
     }
 
     @Bean
+    @Order(1)
+    public SecurityFilterChain prometheusSecurityFilterChain(
+            HttpSecurity http,
+            @Value("${metrics.scrape.username}") String username,
+            @Value("${metrics.scrape.password}") String password
+    ) throws Exception {
+        return http
+                .securityMatcher(PROMETHEUS_ENDPOINT)
+                .csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(
+                        auth -> auth
+                                .anyRequest()
+                                .hasRole(METRICS_SCRAPER_ROLE)
+                )
+                .httpBasic(withDefaults())
+                .sessionManagement(
+                        session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .userDetailsService(new InMemoryUserDetailsManager(User.withUsername(username)
+                        .password(getPasswordEncoder().encode(password))
+                        .roles(METRICS_SCRAPER_ROLE)
+                        .build()))
+                .build();
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http
                 .cors(AbstractHttpConfigurer::disable)
@@ -42,6 +75,8 @@ public class SecurityConfig {
                                         "/v3/api-docs/**",
                                         "/error")
                                 .permitAll()
+                                .requestMatchers("/actuator/**")
+                                .hasRole("ADMIN")
                                 .anyRequest()
                                 .authenticated()
                 )
@@ -1,22 +1,31 @@
 package book.store.controller;
 
+import book.store.dto.user.ChangePasswordRequestDto;
 import book.store.dto.user.UserLoginRequestDto;
 import book.store.dto.user.UserLoginResponseDto;
 import book.store.dto.user.UserRegistrationRequestDto;
 import book.store.dto.user.UserRegistrationResponseDto;
 import book.store.exception.RegistrationException;
+import book.store.model.User;
 import book.store.security.AuthenticationService;
 import book.store.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
-@Tag(name = "Auth management", description = "Endpoints for registration and login")
+@Tag(name = "Auth management", description = "Endpoints for registration, login and logout")
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
@@ -39,4 +48,30 @@ public class AuthController {
     public UserLoginResponseDto login(@RequestBody @Valid UserLoginRequestDto userLoginRequestDto) {
         return authenticationService.authenticate(userLoginRequestDto);
     }
+
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Endpoint for logout",
+            description = "Endpoint for logout. Revokes all tokens issued to the user")
+    public void logout() {
+        userService.logout(getAuthenticatedUser());
+    }
+
+    @PreAuthorize("isAuthenticated()")
+    @PutMapping("/password")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Change password",
+            description = "Change password. Revokes all tokens issued to the user")
+    public void changePassword(
+            @RequestBody @Valid ChangePasswordRequestDto changePasswordRequestDto) {
+        userService.changePassword(getAuthenticatedUser().getId(), changePasswordRequestDto);
+    }
+
+    private User getAuthenticatedUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (User) authentication.getPrincipal();
+    }
 }
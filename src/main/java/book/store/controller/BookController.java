@@ -1,18 +1,30 @@
 package book.store.controller;
 
+import book.store.catalog.CatalogFormat;
+import book.store.dto.book.BookCursorPageDto;
 import book.store.dto.book.BookDto;
-import book.store.dto.book.BookDtoWithoutCategoryIds;
+import book.store.dto.book.BookImportReportDto;
 import book.store.dto.book.BookSearchParametersDto;
+import book.store.dto.book.BookSliceDto;
+import book.store.dto.book.BookStockDto;
 import book.store.dto.book.CreateBookRequestDto;
+import book.store.dto.book.UpdateBookStockRequestDto;
+import book.store.service.BookExportService;
+import book.store.service.BookImportService;
 import book.store.service.BookService;
+import book.store.service.InventoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,9 +32,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Book management", description = "Endpoints for managing books")
 @RestController
@@ -31,6 +46,9 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class BookController {
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
+    private final InventoryService inventoryService;
 
     @PreAuthorize("hasRole('USER')")
     @GetMapping
@@ -40,12 +58,24 @@ public class BookController {
         return bookService.findAll(pageable);
     }
 
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/cursor")
+    @Operation(summary = "Get all books by cursor",
+            description = "Get all available books after an opaque cursor, sorted by id or title")
+    public BookCursorPageDto getAllByCursor(
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        return bookService.findAllByCursor(sort, after, size);
+    }
+
     @PreAuthorize("hasRole('USER')")
     @GetMapping("/search")
-    @Operation(summary = "Search books by params",
-            description = "Search books by params")
-    public List<BookDtoWithoutCategoryIds> searchBooks(BookSearchParametersDto searchParameters) {
-        return bookService.search(searchParameters);
+    @Operation(summary = "Search books by params in pages",
+            description = "Search books by params in pages without counting all matches")
+    public BookSliceDto searchBooks(BookSearchParametersDto searchParameters,
+                                    Pageable pageable) {
+        return bookService.search(searchParameters, pageable);
     }
 
     @PreAuthorize("hasRole('USER')")
@@ -64,6 +94,29 @@ public class BookController {
         return bookService.save(requestDto);
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import",
+            consumes = {CatalogFormat.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Import books",
+            description = "Create or update books by ISBN from a CSV or NDJSON stream")
+    public BookImportReportDto importBooks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream inputStream) {
+        return bookImportService.importBooks(inputStream,
+                CatalogFormat.fromContentType(contentType));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    @Operation(summary = "Export books",
+            description = "Stream all books as CSV or NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportBooks(
+            @RequestParam(defaultValue = "NDJSON") CatalogFormat format) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .body(outputStream -> bookExportService.exportBooks(outputStream, format));
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{id}")
     @Operation(summary = "Update a book by id",
@@ -73,6 +126,23 @@ public class BookController {
         return bookService.updateBookById(id, requestDto);
     }
 
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/{id}/stock")
+    @Operation(summary = "Get the stock of a book",
+            description = "Get the number of copies of a book available for ordering")
+    public BookStockDto getBookStock(@PathVariable Long id) {
+        return inventoryService.getStock(id);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/{id}/stock")
+    @Operation(summary = "Update the stock of a book",
+            description = "Set the number of copies of a book available for ordering")
+    public BookStockDto updateBookStock(@PathVariable Long id,
+                                        @RequestBody @Valid UpdateBookStockRequestDto requestDto) {
+        return inventoryService.updateStock(id, requestDto);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @DeleteMapping("/{id}")
@@ -1,6 +1,6 @@
 package book.store.controller;
 
-import book.store.dto.book.BookDtoWithoutCategoryIds;
+import book.store.dto.book.BookSliceDto;
 import book.store.dto.category.CategoryDto;
 import book.store.dto.category.CreateCategoryRequestDto;
 import book.store.service.BookService;
@@ -51,10 +51,11 @@ public class CategoryController {
 
     @PreAuthorize("hasRole('USER')")
     @GetMapping("/{categoryId}/books")
-    @Operation(summary = "Get all books in a certain category",
-            description = "Get all books in a certain category")
-    public List<BookDtoWithoutCategoryIds> getBooksByCategoryId(@PathVariable Long categoryId) {
-        return bookService.findAllBooksByCategoryId(categoryId);
+    @Operation(summary = "Get books in a certain category in pages",
+            description = "Get books in a certain category in pages without counting them")
+    public BookSliceDto getBooksByCategoryId(@PathVariable Long categoryId,
+                                             Pageable pageable) {
+        return bookService.findAllBooksByCategoryId(categoryId, pageable);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -5,6 +5,7 @@ import book.store.dto.order.PlaceOrderRequestDto;
 import book.store.dto.order.UpdateOrderStatusRequestDto;
 import book.store.dto.order.item.OrderItemDto;
 import book.store.model.User;
+import book.store.service.IdempotencyService;
 import book.store.service.OrderItemService;
 import book.store.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,7 +14,9 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -21,6 +24,7 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -32,6 +36,9 @@ import org.springframework.web.bind.annotation.RestController;
 public class OrderController {
     private final OrderItemService orderItemService;
     private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
+    @Value("${orders.async-placement.enabled}")
+    private boolean asyncPlacement;
 
     @PreAuthorize("hasRole('USER')")
     @GetMapping
@@ -45,11 +52,29 @@ public class OrderController {
     @PreAuthorize("hasRole('USER')")
     @PostMapping
     @Operation(summary = "Place an order",
-            description = "Place an order")
-    public OrderDto placeOrder(Authentication authentication,
-                               @RequestBody @Valid PlaceOrderRequestDto requestDto) {
+            description = "Place an order. When asynchronous placement is enabled, "
+                    + "returns 202 with a PROCESSING order that can be polled by id. "
+                    + "A repeated request with the same Idempotency-Key returns the first order")
+    public ResponseEntity<OrderDto> placeOrder(Authentication authentication,
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody @Valid PlaceOrderRequestDto requestDto) {
         User user = (User) authentication.getPrincipal();
-        return orderService.placeOrder(user, requestDto);
+        if (asyncPlacement) {
+            return ResponseEntity.accepted().body(idempotencyService.execute(user.getId(),
+                    idempotencyKey, requestDto, OrderDto.class,
+                    () -> orderService.placeOrderAsync(user, requestDto)));
+        }
+        return ResponseEntity.ok(idempotencyService.execute(user.getId(), idempotencyKey,
+                requestDto, OrderDto.class, () -> orderService.placeOrder(user, requestDto)));
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/{orderId}")
+    @Operation(summary = "Retrieve an order by id",
+            description = "Retrieve an order by id, e.g. to poll the status of a placement")
+    public OrderDto getOrderById(Authentication authentication, @PathVariable Long orderId) {
+        User user = (User) authentication.getPrincipal();
+        return orderService.getOrderById(user.getId(), orderId);
     }
 
     @PreAuthorize("hasRole('USER')")
@@ -3,8 +3,10 @@ package book.store.controller;
 import book.store.dto.shopping.cart.AddBookToShoppingCartRequestDto;
 import book.store.dto.shopping.cart.ShoppingCartDto;
 import book.store.dto.shopping.cart.UpdateBookQuantityRequestDto;
+import book.store.dto.shopping.cart.UpdateCartItemsRequestDto;
 import book.store.model.User;
 import book.store.service.CartItemService;
+import book.store.service.IdempotencyService;
 import book.store.service.ShoppingCartService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -17,10 +19,12 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
@@ -34,6 +38,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class ShoppingCartController {
     private final ShoppingCartService shoppingCartService;
     private final CartItemService cartItemService;
+    private final IdempotencyService idempotencyService;
 
     @PreAuthorize("hasRole('USER')")
     @GetMapping
@@ -42,20 +47,22 @@ public class ShoppingCartController {
     public ShoppingCartDto retrieveShoppingCart() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         User user = (User) authentication.getPrincipal();
-        String userEmail = user.getEmail();
-        return shoppingCartService.getShoppingCartByUser(userEmail);
+        return shoppingCartService.getShoppingCartByUserId(user.getId());
     }
 
     @PreAuthorize("hasRole('USER')")
     @PostMapping
     @Operation(summary = "Add book to the shopping cart",
-            description = "Add book to the shopping cart")
+            description = "Add book to the shopping cart. A repeated request with the same "
+                    + "Idempotency-Key returns the response of the first one")
     public ShoppingCartDto addItemToShoppingCart(
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody @Valid AddBookToShoppingCartRequestDto requestDto) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         User user = (User) authentication.getPrincipal();
-        String userEmail = user.getEmail();
-        return shoppingCartService.addBookToShoppingCart(userEmail, requestDto);
+        return idempotencyService.execute(user.getId(), idempotencyKey, requestDto,
+                ShoppingCartDto.class,
+                () -> shoppingCartService.addBookToShoppingCart(user.getId(), requestDto));
     }
 
     @PreAuthorize("hasRole('USER')")
@@ -65,7 +72,21 @@ public class ShoppingCartController {
     public ShoppingCartDto updateItemQuantity(@PathVariable Long cartItemId,
                                           @RequestBody @Valid
                                           UpdateBookQuantityRequestDto requestDto) {
-        return shoppingCartService.updateBookQuantityInCartItem(cartItemId, requestDto);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        User user = (User) authentication.getPrincipal();
+        return shoppingCartService.updateBookQuantityInCartItem(user.getId(), cartItemId,
+                requestDto);
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    @PatchMapping("/items")
+    @Operation(summary = "Add, update and remove many books in the shopping cart",
+            description = "Apply a batch of ADD, UPDATE and REMOVE operations to the shopping "
+                    + "cart in one transaction and return the resulting cart")
+    public ShoppingCartDto updateItems(@RequestBody @Valid UpdateCartItemsRequestDto requestDto) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        User user = (User) authentication.getPrincipal();
+        return shoppingCartService.updateCartItems(user.getId(), requestDto);
     }
 
     @PreAuthorize("hasRole('USER')")
@@ -74,6 +95,8 @@ public class ShoppingCartController {
     @Operation(summary = "Remove a book from the shopping cart",
             description = "Remove a book from the shopping cart")
     public void deleteItemFromShoppingCart(@PathVariable Long cartItemId) {
-        cartItemService.deleteCartItemById(cartItemId);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        User user = (User) authentication.getPrincipal();
+        cartItemService.deleteCartItemById(user.getId(), cartItemId);
     }
 }
@@ -0,0 +1,36 @@
+package book.store.controller;
+
+import book.store.dto.user.UpdateUserRolesRequestDto;
+import book.store.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "User management", description = "Endpoints for management of users")
+@RestController
+@SecurityRequirement(name = "bearerAuth")
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserController {
+    private final UserService userService;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/{id}/roles")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Update user's roles",
+            description = "Update user's roles. Revokes all tokens issued to the user")
+    public void updateRoles(@PathVariable Long id,
+                            @RequestBody @Valid UpdateUserRolesRequestDto requestDto) {
+        userService.updateRoles(id, requestDto);
+    }
+}
@@ -0,0 +1,13 @@
+package book.store.dto.book;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class BookCursorPageDto {
+    private List<BookDto> content = new ArrayList<>();
+    private String nextCursor;
+}
@@ -0,0 +1,12 @@
+package book.store.dto.book;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class BookImportErrorDto {
+    private int row;
+    private String isbn;
+    private String message;
+}
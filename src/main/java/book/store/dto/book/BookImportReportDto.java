@@ -0,0 +1,15 @@
+package book.store.dto.book;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class BookImportReportDto {
+    private int rows;
+    private int imported;
+    private int failed;
+    private List<BookImportErrorDto> errors = new ArrayList<>();
+}
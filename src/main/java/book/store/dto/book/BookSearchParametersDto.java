@@ -1,4 +1,4 @@
 package book.store.dto.book;
 
-public record BookSearchParametersDto(String[] titles, String[] authors) {
+public record BookSearchParametersDto(String[] titles, String[] authors, String query) {
 }
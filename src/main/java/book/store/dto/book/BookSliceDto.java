@@ -0,0 +1,13 @@
+package book.store.dto.book;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class BookSliceDto {
+    private List<BookDtoWithoutCategoryIds> content = new ArrayList<>();
+    private boolean hasNext;
+}
@@ -0,0 +1,11 @@
+package book.store.dto.book;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class BookStockDto {
+    private Long bookId;
+    private Integer quantity;
+}
@@ -2,7 +2,9 @@ package book.store.dto.book;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import java.math.BigDecimal;
 import java.util.Set;
 import lombok.Data;
@@ -17,10 +19,13 @@ public class CreateBookRequestDto {
     private String author;
     @NotBlank
     private String isbn;
+    @NotNull
     @Positive
     private BigDecimal price;
     private String description;
     private String coverImage;
     @NotEmpty
     private Set<Long> categoryIds;
+    @PositiveOrZero
+    private Integer stock;
 }
@@ -0,0 +1,14 @@
+package book.store.dto.book;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class UpdateBookStockRequestDto {
+    @NotNull
+    @PositiveOrZero
+    private Integer quantity;
+}
@@ -0,0 +1,17 @@
+package book.store.dto.shopping.cart;
+
+import book.store.dto.shopping.cart.item.CartItemOperationDto;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class UpdateCartItemsRequestDto {
+    @NotEmpty
+    @Size(max = 100)
+    private List<@Valid CartItemOperationDto> operations;
+}
@@ -0,0 +1,24 @@
+package book.store.dto.shopping.cart.item;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class CartItemOperationDto {
+    @NotNull
+    private Type type;
+    @NotNull
+    @Positive
+    private Long bookId;
+    @Positive
+    private Integer quantity;
+
+    public enum Type {
+        ADD,
+        UPDATE,
+        REMOVE
+    }
+}
@@ -0,0 +1,14 @@
+package book.store.dto.user;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class ChangePasswordRequestDto {
+    @NotBlank
+    private String currentPassword;
+    @NotBlank
+    @Size(min = 8, max = 20)
+    private String newPassword;
+}
@@ -0,0 +1,12 @@
+package book.store.dto.user;
+
+import book.store.model.Role;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.Set;
+import lombok.Data;
+
+@Data
+public class UpdateUserRolesRequestDto {
+    @NotEmpty
+    private Set<Role.RoleName> roles;
+}
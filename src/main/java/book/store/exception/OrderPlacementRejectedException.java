@@ -0,0 +1,7 @@
+package book.store.exception;
+
+public class OrderPlacementRejectedException extends RuntimeException {
+    public OrderPlacementRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package book.store.exception;
+
+public class OutOfStockException extends RuntimeException {
+    public OutOfStockException(String message) {
+        super(message);
+    }
+}
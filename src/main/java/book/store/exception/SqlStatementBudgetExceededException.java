@@ -0,0 +1,7 @@
+package book.store.exception;
+
+public class SqlStatementBudgetExceededException extends RuntimeException {
+    public SqlStatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
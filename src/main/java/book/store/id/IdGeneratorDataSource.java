@@ -0,0 +1,35 @@
+package book.store.id;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+@Component
+public class IdGeneratorDataSource implements HibernatePropertiesCustomizer {
+    private static final String POOL_NAME = "IdGeneratorPool";
+    private static final int POOL_SIZE = 2;
+
+    private final HikariDataSource dataSource;
+
+    public IdGeneratorDataSource(DataSourceProperties dataSourceProperties) {
+        dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(POOL_NAME);
+        dataSource.setMaximumPoolSize(POOL_SIZE);
+        dataSource.setMinimumIdle(0);
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(PooledTableIdGenerator.DATA_SOURCE, dataSource);
+    }
+
+    @PreDestroy
+    public void close() {
+        dataSource.close();
+    }
+}
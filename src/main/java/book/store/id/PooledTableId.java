@@ -0,0 +1,17 @@
+package book.store.id;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import org.hibernate.annotations.IdGeneratorType;
+
+@IdGeneratorType(PooledTableIdGenerator.class)
+@Retention(RUNTIME)
+@Target(FIELD)
+public @interface PooledTableId {
+    String value();
+
+    int allocationSize() default 50;
+}
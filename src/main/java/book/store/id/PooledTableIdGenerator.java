@@ -0,0 +1,97 @@
+package book.store.id;
+
+import java.lang.reflect.Member;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.sql.DataSource;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerationException;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.jdbc.AbstractReturningWork;
+
+public class PooledTableIdGenerator implements IdentifierGenerator {
+    public static final String DATA_SOURCE = "book.store.id.data_source";
+    private static final String INCREMENT_SQL =
+            "UPDATE id_generators SET next_val = next_val + ? WHERE sequence_name = ?";
+    private static final String SELECT_SQL =
+            "SELECT next_val FROM id_generators WHERE sequence_name = ?";
+
+    private final String sequenceName;
+    private final int allocationSize;
+    private final DataSource dataSource;
+    private final Lock lock = new ReentrantLock();
+    private long nextId;
+    private long limit;
+
+    public PooledTableIdGenerator(PooledTableId config, Member member,
+                                  CustomIdGeneratorCreationContext context) {
+        sequenceName = config.value();
+        allocationSize = config.allocationSize();
+        dataSource = (DataSource) context.getServiceRegistry()
+                .requireService(ConfigurationService.class)
+                .getSettings()
+                .get(DATA_SOURCE);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        lock.lock();
+        try {
+            if (nextId == limit) {
+                limit = allocateBlock(session);
+                nextId = limit - allocationSize;
+            }
+            return nextId++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long allocateBlock(SharedSessionContractImplementor session) {
+        if (dataSource == null) {
+            return session.getTransactionCoordinator().createIsolationDelegate()
+                    .delegateWork(new AbstractReturningWork<Long>() {
+                        @Override
+                        public Long execute(Connection connection) throws SQLException {
+                            return allocateBlock(connection);
+                        }
+                    }, true);
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                long blockLimit = allocateBlock(connection);
+                connection.commit();
+                return blockLimit;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IdentifierGenerationException("Can't allocate ids for " + sequenceName, e);
+        }
+    }
+
+    private long allocateBlock(Connection connection) throws SQLException {
+        try (PreparedStatement increment = connection.prepareStatement(INCREMENT_SQL);
+                PreparedStatement select = connection.prepareStatement(SELECT_SQL)) {
+            increment.setInt(1, allocationSize);
+            increment.setString(2, sequenceName);
+            if (increment.executeUpdate() != 1) {
+                throw new IdentifierGenerationException("Can't find id sequence "
+                        + sequenceName);
+            }
+            select.setString(1, sequenceName);
+            try (ResultSet resultSet = select.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+}
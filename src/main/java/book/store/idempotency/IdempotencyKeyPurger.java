@@ -0,0 +1,64 @@
+package book.store.idempotency;
+
+import book.store.repository.idempotency.IdempotencyKeyRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyPurger {
+    private static final int BATCH_SIZE = 1000;
+    private static final String THREAD_NAME_PREFIX = "idempotency-key-purger-";
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ThreadPoolTaskSchedulerBuilder threadPoolTaskSchedulerBuilder;
+    @Value("${idempotency.key-ttl}")
+    private long keyTtl;
+    @Value("${idempotency.purge-interval}")
+    private long interval;
+    private ThreadPoolTaskScheduler scheduler;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler = threadPoolTaskSchedulerBuilder
+                .poolSize(1)
+                .threadNamePrefix(THREAD_NAME_PREFIX)
+                .build();
+        scheduler.initialize();
+        scheduler.scheduleWithFixedDelay(this::purge, Duration.ofMillis(interval));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    public int purge() {
+        LocalDateTime createdBefore = LocalDateTime.now().minus(keyTtl, ChronoUnit.MILLIS);
+        int purged = 0;
+        try {
+            int deleted;
+            do {
+                deleted = idempotencyKeyRepository.deleteExpired(createdBefore, BATCH_SIZE);
+                purged += deleted;
+            } while (deleted == BATCH_SIZE);
+        } catch (DataAccessException e) {
+            log.error("Can't purge expired idempotency keys", e);
+        }
+        return purged;
+    }
+}
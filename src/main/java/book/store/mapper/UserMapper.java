@@ -5,9 +5,11 @@ import book.store.dto.user.UserRegistrationRequestDto;
 import book.store.dto.user.UserRegistrationResponseDto;
 import book.store.model.User;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(config = MapperConfig.class)
 public interface UserMapper {
+    @Mapping(target = "tokenVersion", ignore = true)
     User toModel(UserRegistrationRequestDto userRegistrationRequestDto);
 
     UserRegistrationResponseDto toUserResponseDto(User user);
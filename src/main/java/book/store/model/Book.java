@@ -1,5 +1,7 @@
 package book.store.model;
 
+import book.store.config.CacheConfig;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -16,6 +18,8 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 
@@ -27,6 +31,8 @@ import org.hibernate.annotations.SQLRestriction;
 @SQLDelete(sql = "UPDATE books SET is_deleted = true WHERE id = ?")
 @SQLRestriction("is_deleted = false")
 @Accessors(chain = true)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.BOOK_REGION)
 public class Book {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -44,6 +50,8 @@ public class Book {
     private String coverImage;
     @EqualsAndHashCode.Exclude
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE,
+            region = CacheConfig.BOOK_CATEGORIES_REGION)
     @JoinTable(
             name = "books_categories",
             joinColumns = @JoinColumn(name = "book_id"),
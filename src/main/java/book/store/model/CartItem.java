@@ -1,13 +1,13 @@
 package book.store.model;
 
+import book.store.id.PooledTableId;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -20,12 +20,12 @@ import org.hibernate.annotations.SQLRestriction;
 @Getter
 @Setter
 @EqualsAndHashCode
-@SQLDelete(sql = "UPDATE cart_items SET is_deleted = true WHERE id = ?")
+@SQLDelete(sql = "UPDATE cart_items SET is_deleted = true WHERE id = ? AND version = ?")
 @SQLRestriction("is_deleted = false")
 @Accessors(chain = true)
 public class CartItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId("cart_items")
     private Long id;
     @EqualsAndHashCode.Exclude
     @ManyToOne
@@ -39,4 +39,7 @@ public class CartItem {
     private int quantity;
     @Column(name = "is_deleted")
     private boolean isDeleted = false;
+    @EqualsAndHashCode.Exclude
+    @Version
+    private Long version;
 }
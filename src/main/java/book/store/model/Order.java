@@ -1,17 +1,17 @@
 package book.store.model;
 
+import book.store.id.PooledTableId;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.LinkedHashSet;
@@ -29,7 +29,7 @@ import org.hibernate.annotations.SQLRestriction;
 @SQLRestriction("is_deleted = false")
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId("orders")
     private Long id;
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
@@ -47,8 +47,15 @@ public class Order {
     private Set<OrderItem> orderItems = new LinkedHashSet<>();
     @Column(name = "is_deleted")
     private boolean isDeleted = false;
+    @Column(name = "placement_owner")
+    private String placementOwner;
+    @Column(name = "placement_lease_until")
+    private LocalDateTime placementLeaseUntil;
+    @Version
+    private Long version;
 
     public enum Status {
+        PROCESSING,
         ACCEPTED,
         REJECTED,
         PENDING,
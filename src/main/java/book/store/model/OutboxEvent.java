@@ -0,0 +1,46 @@
+package book.store.model;
+
+import book.store.id.PooledTableId;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@Setter
+@Accessors(chain = true)
+public class OutboxEvent {
+    @Id
+    @PooledTableId("outbox_events")
+    private Long id;
+    @Column(name = "event_type", columnDefinition = "varchar", nullable = false)
+    @Enumerated(value = EnumType.STRING)
+    private Type type;
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    @Column(nullable = false)
+    private int attempts;
+    @Column(name = "last_error")
+    private String lastError;
+    @Column(name = "dead_lettered_at")
+    private LocalDateTime deadLetteredAt;
+
+    public enum Type {
+        ORDER_PLACED,
+        ORDER_STATUS_CHANGED
+    }
+}
@@ -1,7 +1,10 @@
 package book.store.model;
 
+import book.store.config.CacheConfig;
+import book.store.security.UserCacheEvictionListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -15,6 +18,8 @@ import java.util.Set;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 import org.springframework.security.core.GrantedAuthority;
@@ -24,9 +29,11 @@ import org.springframework.security.core.userdetails.UserDetails;
 @Table(name = "users")
 @Getter
 @Setter
-@SQLDelete(sql = "UPDATE users SET is_deleted = true WHERE id = ?")
+@SQLDelete(sql = "UPDATE users SET is_deleted = true, token_version = token_version + 1 "
+        + "WHERE id = ?")
 @SQLRestriction("is_deleted = false")
 @Accessors(chain = true)
+@EntityListeners(UserCacheEvictionListener.class)
 public class User implements UserDetails {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -41,6 +48,7 @@ public class User implements UserDetails {
     private String lastName;
     @Column(nullable = false)
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.USER_ROLES_REGION)
     @JoinTable(
             name = "users_roles",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -51,6 +59,8 @@ public class User implements UserDetails {
     private String shippingAddress;
     @Column(name = "is_deleted", nullable = false)
     private boolean isDeleted = false;
+    @Column(name = "token_version", nullable = false)
+    private long tokenVersion;
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -0,0 +1,47 @@
+package book.store.order;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OrderPlacementQueue {
+    private final BlockingQueue<Long> orderIds;
+    private final String owner = UUID.randomUUID().toString();
+    private final Duration lease;
+
+    public OrderPlacementQueue(@Value("${orders.async-placement.queue-capacity}") int capacity,
+                               @Value("${orders.async-placement.lease}") long lease) {
+        orderIds = new ArrayBlockingQueue<>(capacity);
+        this.lease = Duration.ofMillis(lease);
+    }
+
+    public boolean hasCapacity() {
+        return orderIds.remainingCapacity() > 0;
+    }
+
+    public boolean offer(Long orderId) {
+        return orderIds.offer(orderId);
+    }
+
+    public List<Long> takeBatch(int maxSize) throws InterruptedException {
+        List<Long> batch = new ArrayList<>(maxSize);
+        batch.add(orderIds.take());
+        orderIds.drainTo(batch, maxSize - 1);
+        return batch;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public LocalDateTime getLeaseUntil(LocalDateTime now) {
+        return now.plus(lease);
+    }
+}
@@ -0,0 +1,101 @@
+package book.store.order;
+
+import book.store.model.Order;
+import book.store.repository.order.OrderRepository;
+import book.store.service.OrderService;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "orders.async-placement.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class OrderPlacementWorker {
+    private static final String THREAD_NAME_PREFIX = "order-placement-";
+
+    private final OrderPlacementQueue orderPlacementQueue;
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final ThreadPoolTaskSchedulerBuilder threadPoolTaskSchedulerBuilder;
+    @Value("${orders.async-placement.workers}")
+    private int workers;
+    @Value("${orders.async-placement.batch-size}")
+    private int batchSize;
+    @Value("${orders.async-placement.claim-interval}")
+    private long claimInterval;
+    private ThreadPoolTaskScheduler scheduler;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler = threadPoolTaskSchedulerBuilder
+                .poolSize(workers + 1)
+                .threadNamePrefix(THREAD_NAME_PREFIX)
+                .build();
+        scheduler.initialize();
+        for (int i = 0; i < workers; i++) {
+            scheduler.execute(this::processPlacements);
+        }
+        scheduler.scheduleWithFixedDelay(this::claimExpiredPlacements,
+                Duration.ofMillis(claimInterval));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    private void claimExpiredPlacements() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime leaseUntil = orderPlacementQueue.getLeaseUntil(now);
+            String owner = orderPlacementQueue.getOwner();
+            if (orderRepository.claimExpiredPlacements(Order.Status.PROCESSING, owner,
+                    leaseUntil, now) == 0) {
+                return;
+            }
+            for (Long orderId : orderRepository.findClaimedPlacementIds(
+                    Order.Status.PROCESSING, owner, leaseUntil)) {
+                if (!orderPlacementQueue.offer(orderId)) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Can't claim expired order placements", e);
+        }
+    }
+
+    private void processPlacements() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                completePlacements(orderPlacementQueue.takeBatch(batchSize));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void completePlacements(List<Long> orderIds) {
+        try {
+            orderService.completePlacements(orderIds);
+        } catch (RuntimeException e) {
+            if (orderIds.size() == 1) {
+                log.error("Can't complete placement of order {}", orderIds.get(0), e);
+                return;
+            }
+            orderIds.forEach(orderId -> completePlacements(List.of(orderId)));
+        }
+    }
+}
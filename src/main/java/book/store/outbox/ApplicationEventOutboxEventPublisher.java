@@ -0,0 +1,21 @@
+package book.store.outbox;
+
+import book.store.model.OutboxEvent;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "outbox.publisher", havingValue = "application-event",
+        matchIfMissing = true)
+@RequiredArgsConstructor
+public class ApplicationEventOutboxEventPublisher implements OutboxEventPublisher {
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        events.forEach(applicationEventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,58 @@
+package book.store.outbox;
+
+import book.store.model.OutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "outbox.publisher", havingValue = "file")
+public class FileOutboxEventPublisher implements OutboxEventPublisher {
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final Lock lock = new ReentrantLock();
+
+    public FileOutboxEventPublisher(ObjectMapper objectMapper,
+                                    @Value("${outbox.file.path}") Path path) {
+        this.objectMapper = objectMapper;
+        this.path = path;
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        lock.lock();
+        try {
+            List<String> lines = new ArrayList<>(events.size());
+            for (OutboxEvent event : events) {
+                lines.add(toJson(event));
+            }
+            Files.write(path, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't write outbox events to " + path, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String toJson(OutboxEvent event) throws JsonProcessingException {
+        ObjectNode json = objectMapper.createObjectNode()
+                .put("id", event.getId())
+                .put("type", event.getType().name())
+                .put("aggregateId", event.getAggregateId())
+                .put("createdAt", event.getCreatedAt().toString());
+        json.set("payload", objectMapper.readTree(event.getPayload()));
+        return objectMapper.writeValueAsString(json);
+    }
+}
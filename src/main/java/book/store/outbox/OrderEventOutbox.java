@@ -0,0 +1,29 @@
+package book.store.outbox;
+
+import book.store.dto.order.OrderDto;
+import book.store.model.OutboxEvent;
+import book.store.repository.outbox.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class OrderEventOutbox {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public void append(OutboxEvent.Type type, OrderDto order) {
+        try {
+            outboxEventRepository.save(new OutboxEvent()
+                    .setType(type)
+                    .setAggregateId(order.getId())
+                    .setPayload(objectMapper.writeValueAsString(order))
+                    .setCreatedAt(LocalDateTime.now()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can't serialize order " + order.getId(), e);
+        }
+    }
+}
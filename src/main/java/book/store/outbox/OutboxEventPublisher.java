@@ -0,0 +1,8 @@
+package book.store.outbox;
+
+import book.store.model.OutboxEvent;
+import java.util.List;
+
+public interface OutboxEventPublisher {
+    void publish(List<OutboxEvent> events);
+}
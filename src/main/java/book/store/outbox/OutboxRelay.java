@@ -0,0 +1,123 @@
+package book.store.outbox;
+
+import book.store.model.OutboxEvent;
+import book.store.repository.outbox.OutboxEventRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class OutboxRelay {
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final String THREAD_NAME_PREFIX = "outbox-relay-";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxEventPublisher outboxEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskSchedulerBuilder threadPoolTaskSchedulerBuilder;
+    @Value("${outbox.relay.interval}")
+    private long interval;
+    @Value("${outbox.relay.batch-size}")
+    private int batchSize;
+    @Value("${outbox.relay.max-attempts}")
+    private int maxAttempts;
+    private ThreadPoolTaskScheduler scheduler;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler = threadPoolTaskSchedulerBuilder
+                .poolSize(1)
+                .threadNamePrefix(THREAD_NAME_PREFIX)
+                .build();
+        scheduler.initialize();
+        scheduler.scheduleWithFixedDelay(this::relay, Duration.ofMillis(interval));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    public void relay() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Can't relay outbox events", e);
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository
+                .findAllByDeadLetteredAtIsNullOrderByCreatedAtAscIdAsc(
+                        PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        try {
+            outboxEventPublisher.publish(events);
+        } catch (RuntimeException e) {
+            log.warn("Can't publish {} outbox events, publishing them one by one",
+                    events.size(), e);
+            return relayEach(events);
+        }
+        outboxEventRepository.deleteAllInBatch(events);
+        return events.size();
+    }
+
+    private int relayEach(List<OutboxEvent> events) {
+        Set<Long> failedAggregateIds = new HashSet<>();
+        int relayed = 0;
+        for (OutboxEvent event : events) {
+            if (failedAggregateIds.contains(event.getAggregateId())) {
+                continue;
+            }
+            if (relayEvent(event)) {
+                relayed++;
+            } else {
+                failedAggregateIds.add(event.getAggregateId());
+            }
+        }
+        return relayed;
+    }
+
+    private boolean relayEvent(OutboxEvent event) {
+        try {
+            outboxEventPublisher.publish(List.of(event));
+        } catch (RuntimeException e) {
+            String error = String.valueOf(e.getMessage());
+            event.setAttempts(event.getAttempts() + 1)
+                    .setLastError(error.substring(0, Math.min(error.length(),
+                            MAX_ERROR_LENGTH)));
+            if (event.getAttempts() >= maxAttempts) {
+                log.error("Can't publish outbox event {} after {} attempts, dead-lettering it",
+                        event.getId(), event.getAttempts(), e);
+                event.setDeadLetteredAt(LocalDateTime.now());
+            }
+            return false;
+        }
+        outboxEventRepository.delete(event);
+        return true;
+    }
+}
@@ -0,0 +1,18 @@
+package book.store.replica;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReadFromPrimaryAspect {
+    @Around("@annotation(book.store.replica.ReadFromPrimary)")
+    public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        return ReplicaRoutingDataSource.readFromPrimary(joinPoint::proceed);
+    }
+}
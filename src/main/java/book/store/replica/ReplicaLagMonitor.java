@@ -0,0 +1,68 @@
+package book.store.replica;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ReplicaLagMonitor {
+    private static final String REPLICA_STATUS_QUERY = "SHOW REPLICA STATUS";
+    private static final String SECONDS_BEHIND_SOURCE = "Seconds_Behind_Source";
+    private static final String THREAD_NAME_PREFIX = "replica-lag-monitor-";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final ReplicaRoutingDataSource replicaRoutingDataSource;
+    private final ThreadPoolTaskSchedulerBuilder threadPoolTaskSchedulerBuilder;
+    private final long maxLagSeconds;
+    private final long interval;
+    private ThreadPoolTaskScheduler scheduler;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler = threadPoolTaskSchedulerBuilder
+                .poolSize(1)
+                .threadNamePrefix(THREAD_NAME_PREFIX)
+                .build();
+        scheduler.initialize();
+        scheduler.scheduleWithFixedDelay(this::check, Duration.ofMillis(interval));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    public void check() {
+        boolean available;
+        try {
+            List<Long> lags = replicaJdbcTemplate.query(REPLICA_STATUS_QUERY,
+                    (resultSet, rowNumber) -> resultSet.getObject(SECONDS_BEHIND_SOURCE,
+                            Long.class));
+            available = lags.stream()
+                    .allMatch(lag -> lag != null && lag <= maxLagSeconds);
+            if (!available && replicaRoutingDataSource.isReplicaAvailable()) {
+                log.warn("Replica lags {} seconds behind, reading from the primary", lags);
+            }
+        } catch (DataAccessException e) {
+            if (replicaRoutingDataSource.isReplicaAvailable()) {
+                log.warn("Can't read the replica status, reading from the primary", e);
+            }
+            available = false;
+        }
+        if (available && !replicaRoutingDataSource.isReplicaAvailable()) {
+            log.info("Replica caught up, reading from the replica");
+        }
+        replicaRoutingDataSource.setReplicaAvailable(available);
+    }
+}
@@ -0,0 +1,103 @@
+package book.store.replica;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+    private static final String PINNED_TO_PRIMARY = ReplicaRoutingDataSource.class.getName()
+            + ".PINNED_TO_PRIMARY";
+    private static final ThreadLocal<Boolean> READ_FROM_PRIMARY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private volatile boolean replicaAvailable = true;
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection getConnection(ConnectionSource connectionSource) throws SQLException {
+        if (!useReplica()) {
+            return connectionSource.open(primary);
+        }
+        Connection connection;
+        try {
+            connection = connectionSource.open(replica);
+        } catch (SQLException e) {
+            log.warn("Can't connect to the replica, reading from the primary", e);
+            replicaAvailable = false;
+            return connectionSource.open(primary);
+        }
+        skipSecondLevelCachePuts();
+        return connection;
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    public void setReplicaAvailable(boolean replicaAvailable) {
+        this.replicaAvailable = replicaAvailable;
+    }
+
+    public static <T> T readFromPrimary(Action<T> action) throws Throwable {
+        Boolean previous = READ_FROM_PRIMARY.get();
+        READ_FROM_PRIMARY.set(true);
+        try {
+            return action.run();
+        } finally {
+            if (previous == null) {
+                READ_FROM_PRIMARY.remove();
+            }
+        }
+    }
+
+    private boolean useReplica() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (request != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                request.setAttribute(PINNED_TO_PRIMARY, true, RequestAttributes.SCOPE_REQUEST);
+            }
+            return false;
+        }
+        return replicaAvailable && READ_FROM_PRIMARY.get() == null
+                && (request == null || request.getAttribute(PINNED_TO_PRIMARY,
+                RequestAttributes.SCOPE_REQUEST) == null);
+    }
+
+    private void skipSecondLevelCachePuts() {
+        TransactionSynchronizationManager.getResourceMap().values().stream()
+                .filter(EntityManagerHolder.class::isInstance)
+                .map(holder -> ((EntityManagerHolder) holder).getEntityManager()
+                        .unwrap(Session.class))
+                .forEach(session -> session.setCacheMode(CacheMode.GET));
+    }
+
+    @FunctionalInterface
+    public interface Action<T> {
+        T run() throws Throwable;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+}
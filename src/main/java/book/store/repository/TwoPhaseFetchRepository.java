@@ -0,0 +1,49 @@
+package book.store.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+@NoRepositoryBean
+public interface TwoPhaseFetchRepository<T, I> extends JpaRepository<T, I> {
+    int MAX_IDS_PER_QUERY = 1000;
+    String ID = "id";
+
+    List<T> findAllFetchedByIdIn(Collection<I> ids, Sort sort);
+
+    default List<T> findAllFetched(List<I> ids, Sort sort) {
+        List<T> entities = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            int to = Math.min(ids.size(), from + MAX_IDS_PER_QUERY);
+            entities.addAll(findAllFetchedByIdIn(ids.subList(from, to), sort));
+        }
+        return entities;
+    }
+
+    default Page<T> findPageFetched(Page<I> idPage) {
+        List<T> entities = findAllFetched(idPage.getContent(), idPage.getPageable().getSort());
+        return new PageImpl<>(entities, idPage.getPageable(), idPage.getTotalElements());
+    }
+
+    default Slice<T> findSliceFetched(Slice<I> idSlice) {
+        List<T> entities = findAllFetched(idSlice.getContent(), idSlice.getPageable().getSort());
+        return new SliceImpl<>(entities, idSlice.getPageable(), idSlice.hasNext());
+    }
+
+    static Pageable withIdTiebreaker(Pageable pageable) {
+        if (pageable.isUnpaged() || pageable.getSort().getOrderFor(ID) != null) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSort().and(Sort.by(ID)));
+    }
+}
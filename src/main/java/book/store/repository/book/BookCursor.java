@@ -0,0 +1,54 @@
+package book.store.repository.book;
+
+import book.store.exception.InvalidRequestException;
+import book.store.model.Book;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.springframework.data.domain.Sort;
+
+public record BookCursor(SortKey sortKey, Long id, String value) {
+    private static final String SEPARATOR = ":";
+
+    public static BookCursor first(SortKey sortKey) {
+        return new BookCursor(sortKey, 0L, "");
+    }
+
+    public static BookCursor after(SortKey sortKey, Book book) {
+        return new BookCursor(sortKey, book.getId(), sortKey.keyOf(book));
+    }
+
+    public static BookCursor decode(String encodedCursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(encodedCursor),
+                    StandardCharsets.UTF_8).split(SEPARATOR, 3);
+            return new BookCursor(SortKey.valueOf(parts[0]), Long.valueOf(parts[1]), parts[2]);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new InvalidRequestException("Invalid cursor " + encodedCursor);
+        }
+    }
+
+    public String encode() {
+        String rawCursor = sortKey.name() + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(rawCursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public enum SortKey {
+        ID(Sort.by("id")),
+        TITLE(Sort.by("title", "id"));
+
+        private final Sort sort;
+
+        SortKey(Sort sort) {
+            this.sort = sort;
+        }
+
+        public Sort getSort() {
+            return sort;
+        }
+
+        private String keyOf(Book book) {
+            return this == TITLE ? book.getTitle() : "";
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package book.store.repository.book;
+
+import book.store.model.Book;
+import book.store.model.Category;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class BookExportRepository {
+    private static final String FIND_ALL_SQL = "SELECT b.id, b.title, b.author, b.isbn, "
+            + "b.price, b.description, b.cover_image, c.id AS category_id FROM books b "
+            + "LEFT JOIN books_categories bc ON bc.book_id = b.id "
+            + "LEFT JOIN categories c ON c.id = bc.category_id AND c.is_deleted = false "
+            + "WHERE b.is_deleted = false ORDER BY b.id";
+    private static final int FETCH_SIZE = 1000;
+    private static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookExportRepository(DataSource dataSource) {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(isMySql(dataSource) ? MYSQL_STREAMING_FETCH_SIZE : FETCH_SIZE);
+    }
+
+    public void forEach(Consumer<Book> consumer) {
+        BookRowCallbackHandler rowCallbackHandler = new BookRowCallbackHandler(consumer);
+        jdbcTemplate.query(FIND_ALL_SQL, rowCallbackHandler);
+        rowCallbackHandler.complete();
+    }
+
+    private static boolean isMySql(DataSource dataSource) {
+        try {
+            return DatabaseDriver.fromProductName(JdbcUtils.extractDatabaseMetaData(dataSource,
+                    DatabaseMetaData::getDatabaseProductName)) == DatabaseDriver.MYSQL;
+        } catch (MetaDataAccessException e) {
+            return false;
+        }
+    }
+
+    private static class BookRowCallbackHandler implements RowCallbackHandler {
+        private final Consumer<Book> consumer;
+        private Book book;
+
+        private BookRowCallbackHandler(Consumer<Book> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(ResultSet resultSet) throws SQLException {
+            long bookId = resultSet.getLong("id");
+            if (book == null || book.getId() != bookId) {
+                complete();
+                book = new Book()
+                        .setId(bookId)
+                        .setTitle(resultSet.getString("title"))
+                        .setAuthor(resultSet.getString("author"))
+                        .setIsbn(resultSet.getString("isbn"))
+                        .setPrice(resultSet.getBigDecimal("price"))
+                        .setDescription(resultSet.getString("description"))
+                        .setCoverImage(resultSet.getString("cover_image"));
+            }
+            long categoryId = resultSet.getLong("category_id");
+            if (!resultSet.wasNull()) {
+                book.getCategories().add(new Category(categoryId));
+            }
+        }
+
+        private void complete() {
+            if (book != null) {
+                consumer.accept(book);
+                book = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package book.store.repository.book;
+
+import book.store.model.Book;
+import book.store.model.Category;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class BookImportRepository {
+    private static final String UPSERT_SQL = "INSERT INTO books "
+            + "(title, author, isbn, price, description, cover_image) "
+            + "VALUES (?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE title = VALUES(title), author = VALUES(author), "
+            + "price = VALUES(price), description = VALUES(description), "
+            + "cover_image = VALUES(cover_image), is_deleted = false";
+    private static final String FIND_IDS_SQL = "SELECT id, isbn FROM books WHERE isbn IN (:isbns)";
+    private static final String DELETE_CATEGORIES_SQL =
+            "DELETE FROM books_categories WHERE book_id IN (:bookIds)";
+    private static final String INSERT_CATEGORY_SQL =
+            "INSERT INTO books_categories (book_id, category_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public void upsert(List<Book> books) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, books, books.size(), (statement, book) -> {
+            statement.setString(1, book.getTitle());
+            statement.setString(2, book.getAuthor());
+            statement.setString(3, book.getIsbn());
+            statement.setBigDecimal(4, book.getPrice());
+            statement.setString(5, book.getDescription());
+            statement.setString(6, book.getCoverImage());
+        });
+    }
+
+    public Map<String, Long> findIdsByIsbn(Collection<String> isbns) {
+        Map<String, Long> ids = new HashMap<>();
+        namedParameterJdbcTemplate.query(FIND_IDS_SQL, Map.of("isbns", isbns), resultSet -> {
+            ids.put(resultSet.getString("isbn").toLowerCase(Locale.ROOT),
+                    resultSet.getLong("id"));
+        });
+        return ids;
+    }
+
+    public void replaceCategories(List<Book> books) {
+        namedParameterJdbcTemplate.update(DELETE_CATEGORIES_SQL, Map.of("bookIds",
+                books.stream()
+                        .map(Book::getId)
+                        .toList()));
+        List<Object[]> links = books.stream()
+                .flatMap(book -> book.getCategories().stream()
+                        .map(Category::getId)
+                        .distinct()
+                        .map(categoryId -> new Object[]{book.getId(), categoryId}))
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_CATEGORY_SQL, links);
+    }
+}
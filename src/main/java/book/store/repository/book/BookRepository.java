@@ -1,21 +1,55 @@
 package book.store.repository.book;
 
 import book.store.model.Book;
+import book.store.repository.TwoPhaseFetchRepository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
+@Transactional(readOnly = true)
+public interface BookRepository extends TwoPhaseFetchRepository<Book, Long>,
+        JpaSpecificationExecutor<Book> {
     @Query("FROM Book b LEFT JOIN FETCH b.categories с WHERE b.id = :id")
     Optional<Book> findBookById(Long id);
 
-    @Query("FROM Book b LEFT JOIN FETCH b.categories")
-    Page<Book> findAllBooks(Pageable pageable);
+    @Query(value = "SELECT b.id FROM Book b", countQuery = "SELECT COUNT(b) FROM Book b")
+    Page<Long> findAllBookIds(Pageable pageable);
 
-    @Query("FROM Book b LEFT JOIN FETCH b.categories c WHERE c.id = :categoryId")
-    List<Book> findBooksByCategoryId(Long categoryId);
+    @Query("SELECT b.id FROM Book b JOIN b.categories c WHERE c.id = :categoryId ORDER BY b.id")
+    List<Long> findBookIdsByCategoryId(Long categoryId);
+
+    @Query("SELECT b.id FROM Book b JOIN b.categories c WHERE c.id = :categoryId")
+    Slice<Long> findBookIdsByCategoryId(Long categoryId, Pageable pageable);
+
+    @Query("SELECT c.id FROM Book b JOIN b.categories c WHERE b.id = :bookId")
+    Set<Long> findCategoryIdsByBookId(Long bookId);
+
+    @Query("SELECT b.id FROM Book b WHERE b.id > :afterId ORDER BY b.id")
+    List<Long> findBookIdsAfterId(Long afterId, Limit limit);
+
+    @Query("SELECT b.id FROM Book b WHERE b.title > :afterTitle "
+            + "OR (b.title = :afterTitle AND b.id > :afterId) ORDER BY b.title, b.id")
+    List<Long> findBookIdsAfterTitle(String afterTitle, Long afterId, Limit limit);
+
+    @Override
+    @Query("FROM Book b LEFT JOIN FETCH b.categories WHERE b.id IN :ids")
+    List<Book> findAllFetchedByIdIn(Collection<Long> ids, Sort sort);
+
+    default Page<Book> findAllBooks(Pageable pageable) {
+        return findPageFetched(findAllBookIds(TwoPhaseFetchRepository.withIdTiebreaker(pageable)));
+    }
+
+    default Slice<Book> findBooksByCategoryId(Long categoryId, Pageable pageable) {
+        return findSliceFetched(findBookIdsByCategoryId(categoryId,
+                TwoPhaseFetchRepository.withIdTiebreaker(pageable)));
+    }
 }
@@ -0,0 +1,65 @@
+package book.store.repository.book;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class BookStockRepository {
+    private static final String DECREMENT_SQL = "UPDATE book_stock SET quantity = quantity - ? "
+            + "WHERE book_id = ? AND shard = ? AND quantity >= ?";
+    private static final String INCREMENT_SQL = "UPDATE book_stock SET quantity = quantity + ? "
+            + "WHERE book_id = ? AND shard = ?";
+    private static final String LOCK_SQL = "SELECT shard, quantity FROM book_stock "
+            + "WHERE book_id = ? ORDER BY shard FOR UPDATE";
+    private static final String SUM_SQL = "SELECT SUM(quantity) FROM book_stock WHERE book_id = ?";
+    private static final String DELETE_SQL = "DELETE FROM book_stock WHERE book_id = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO book_stock (book_id, shard, quantity) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int[] decrement(List<ShardQuantity> shardQuantities) {
+        return jdbcTemplate.batchUpdate(DECREMENT_SQL, shardQuantities, shardQuantities.size(),
+                (statement, shardQuantity) -> {
+                    statement.setInt(1, shardQuantity.quantity());
+                    statement.setLong(2, shardQuantity.bookId());
+                    statement.setInt(3, shardQuantity.shard());
+                    statement.setInt(4, shardQuantity.quantity());
+                })[0];
+    }
+
+    public void increment(List<ShardQuantity> shardQuantities) {
+        jdbcTemplate.batchUpdate(INCREMENT_SQL, shardQuantities, shardQuantities.size(),
+                (statement, shardQuantity) -> {
+                    statement.setInt(1, shardQuantity.quantity());
+                    statement.setLong(2, shardQuantity.bookId());
+                    statement.setInt(3, shardQuantity.shard());
+                });
+    }
+
+    public List<ShardQuantity> lockShards(Long bookId) {
+        return jdbcTemplate.query(LOCK_SQL, (resultSet, rowNum) -> new ShardQuantity(bookId,
+                resultSet.getInt("shard"), resultSet.getInt("quantity")), bookId);
+    }
+
+    public Integer sumQuantity(Long bookId) {
+        return jdbcTemplate.queryForObject(SUM_SQL, Integer.class, bookId);
+    }
+
+    public void replace(List<Long> bookIds, List<ShardQuantity> shardQuantities) {
+        jdbcTemplate.batchUpdate(DELETE_SQL, bookIds, bookIds.size(),
+                (statement, bookId) -> statement.setLong(1, bookId));
+        jdbcTemplate.batchUpdate(INSERT_SQL, shardQuantities, shardQuantities.size(),
+                (statement, shardQuantity) -> {
+                    statement.setLong(1, shardQuantity.bookId());
+                    statement.setInt(2, shardQuantity.shard());
+                    statement.setInt(3, shardQuantity.quantity());
+                });
+    }
+
+    public record ShardQuantity(Long bookId, int shard, int quantity) {
+    }
+}
@@ -1,7 +1,13 @@
 package book.store.repository.category;
 
 import book.store.model.Category;
+import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+@Transactional(readOnly = true)
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    @Query("SELECT c.id FROM Category c")
+    Set<Long> findAllIds();
 }
@@ -0,0 +1,59 @@
+package book.store.repository.idempotency;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+    private static final String INSERT_SQL = "INSERT INTO idempotency_keys "
+            + "(user_id, idempotency_key, request_hash, created_at) VALUES (?, ?, ?, ?)";
+    private static final String FIND_SQL = "SELECT request_hash, response FROM idempotency_keys "
+            + "WHERE user_id = ? AND idempotency_key = ?";
+    private static final String SAVE_RESPONSE_SQL = "UPDATE idempotency_keys SET response = ? "
+            + "WHERE user_id = ? AND idempotency_key = ?";
+    private static final String DELETE_UNFINISHED_SQL = "DELETE FROM idempotency_keys "
+            + "WHERE user_id = ? AND idempotency_key = ? AND response IS NULL AND created_at < ?";
+    private static final String DELETE_EXPIRED_SQL =
+            "DELETE FROM idempotency_keys WHERE created_at < ? LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean insert(Long userId, String idempotencyKey, String requestHash) {
+        try {
+            jdbcTemplate.update(INSERT_SQL, userId, idempotencyKey, requestHash,
+                    Timestamp.valueOf(LocalDateTime.now()));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    public Optional<IdempotencyKey> find(Long userId, String idempotencyKey) {
+        return jdbcTemplate.query(FIND_SQL, (resultSet, rowNum) -> new IdempotencyKey(
+                        resultSet.getString("request_hash"), resultSet.getString("response")),
+                userId, idempotencyKey).stream().findFirst();
+    }
+
+    public void saveResponse(Long userId, String idempotencyKey, String response) {
+        jdbcTemplate.update(SAVE_RESPONSE_SQL, response, userId, idempotencyKey);
+    }
+
+    public boolean deleteUnfinished(Long userId, String idempotencyKey,
+                                    LocalDateTime claimedBefore) {
+        return jdbcTemplate.update(DELETE_UNFINISHED_SQL, userId, idempotencyKey,
+                Timestamp.valueOf(claimedBefore)) > 0;
+    }
+
+    public int deleteExpired(LocalDateTime createdBefore, int limit) {
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL, Timestamp.valueOf(createdBefore), limit);
+    }
+
+    public record IdempotencyKey(String requestHash, String response) {
+    }
+}
@@ -1,12 +1,54 @@
 package book.store.repository.order;
 
 import book.store.model.Order;
+import book.store.replica.ReadFromPrimary;
+import book.store.repository.TwoPhaseFetchRepository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
-    @Query("FROM Order o LEFT JOIN FETCH o.orderItems i WHERE o.user.id = :userId")
-    List<Order> findAllByUserId(Pageable pageable, Long userId);
+@Transactional(readOnly = true)
+public interface OrderRepository extends TwoPhaseFetchRepository<Order, Long> {
+    @Query("SELECT o.id FROM Order o WHERE o.user.id = :userId")
+    List<Long> findOrderIdsByUserId(Long userId, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Order o SET o.placementOwner = :owner, o.placementLeaseUntil = :leaseUntil "
+            + "WHERE o.status = :status "
+            + "AND (o.placementLeaseUntil IS NULL OR o.placementLeaseUntil < :now)")
+    int claimExpiredPlacements(Order.Status status, String owner, LocalDateTime leaseUntil,
+                               LocalDateTime now);
+
+    @ReadFromPrimary
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status "
+            + "AND o.placementLeaseUntil = :leaseUntil AND o.placementOwner = :owner")
+    List<Long> findClaimedPlacementIds(Order.Status status, String owner,
+                                       LocalDateTime leaseUntil);
+
+    @Query("FROM Order o JOIN FETCH o.user LEFT JOIN FETCH o.orderItems i LEFT JOIN FETCH i.book "
+            + "WHERE o.id IN :ids AND o.status = :status")
+    List<Order> findAllByIdInAndStatus(Collection<Long> ids, Order.Status status);
+
+    @ReadFromPrimary
+    @Query("FROM Order o LEFT JOIN FETCH o.orderItems i LEFT JOIN FETCH i.book "
+            + "WHERE o.id = :id AND o.user.id = :userId")
+    Optional<Order> findByIdAndUserId(Long id, Long userId);
+
+    @Override
+    @Query("FROM Order o LEFT JOIN FETCH o.orderItems i LEFT JOIN FETCH i.book "
+            + "WHERE o.id IN :ids")
+    List<Order> findAllFetchedByIdIn(Collection<Long> ids, Sort sort);
+
+    default List<Order> findAllByUserId(Pageable pageable, Long userId) {
+        Pageable stablePageable = TwoPhaseFetchRepository.withIdTiebreaker(pageable);
+        return findAllFetched(findOrderIdsByUserId(userId, stablePageable),
+                stablePageable.getSort());
+    }
 }
@@ -5,8 +5,10 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+    @Query("FROM OrderItem oi WHERE oi.order.id = :orderId")
     List<OrderItem> findAllByOrderId(Pageable pageable, Long orderId);
 
     Optional<OrderItem> findOrderItemByOrderIdAndId(Long orderId, Long itemId);
@@ -0,0 +1,18 @@
+package book.store.repository.outbox;
+
+import book.store.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    String SKIP_LOCKED = "-2";
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    List<OutboxEvent> findAllByDeadLetteredAtIsNullOrderByCreatedAtAscIdAsc(Pageable pageable);
+}
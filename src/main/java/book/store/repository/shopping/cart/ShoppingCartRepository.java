@@ -1,11 +1,24 @@
 package book.store.repository.shopping.cart;
 
+import book.store.config.CacheConfig;
 import book.store.model.ShoppingCart;
 import java.util.Optional;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
-public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Long> {
-    @Query("FROM ShoppingCart s LEFT JOIN FETCH s.cartItems c WHERE s.user.id = :userId")
+public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Long>,
+        ShoppingCartVersionRepository {
+    @Query("FROM ShoppingCart s LEFT JOIN FETCH s.cartItems c LEFT JOIN FETCH c.book "
+            + "WHERE s.user.id = :userId")
     Optional<ShoppingCart> findShoppingCartByUserId(Long userId);
+
+    @Cacheable(cacheNames = CacheConfig.SHOPPING_CART_IDS, unless = "#result == null")
+    @Query("SELECT s.id FROM ShoppingCart s WHERE s.user.id = :userId")
+    Optional<Long> findIdByUserId(Long userId);
+
+    @Modifying
+    @Query("UPDATE ShoppingCart s SET s.version = s.version + 1 WHERE s.id = :id")
+    int incrementVersionById(Long id);
 }
@@ -0,0 +1,7 @@
+package book.store.repository.shopping.cart;
+
+import book.store.model.ShoppingCart;
+
+public interface ShoppingCartVersionRepository {
+    void incrementVersion(ShoppingCart shoppingCart);
+}
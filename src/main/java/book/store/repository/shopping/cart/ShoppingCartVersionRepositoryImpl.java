@@ -0,0 +1,16 @@
+package book.store.repository.shopping.cart;
+
+import book.store.model.ShoppingCart;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ShoppingCartVersionRepositoryImpl implements ShoppingCartVersionRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public void incrementVersion(ShoppingCart shoppingCart) {
+        entityManager.lock(shoppingCart, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+    }
+}
@@ -1,9 +1,23 @@
 package book.store.repository.shopping.cart.item;
 
 import book.store.model.CartItem;
+import java.util.Collection;
 import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
+    @Query("FROM CartItem ci WHERE ci.shoppingCart.id = :shoppingCartId")
     Set<CartItem> findAllByShoppingCartId(Long shoppingCartId);
+
+    @Modifying
+    @Query("UPDATE CartItem ci SET ci.isDeleted = true "
+            + "WHERE ci.id = :id AND ci.shoppingCart.id = :shoppingCartId AND ci.isDeleted = false")
+    int softDeleteByIdAndShoppingCartId(Long id, Long shoppingCartId);
+
+    @Modifying
+    @Query("UPDATE CartItem ci SET ci.isDeleted = true "
+            + "WHERE ci.shoppingCart.id IN :shoppingCartIds AND ci.isDeleted = false")
+    int softDeleteAllByShoppingCartIdIn(Collection<Long> shoppingCartIds);
 }
@@ -3,9 +3,19 @@ package book.store.repository.user;
 import book.store.model.User;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     @Query("FROM User u LEFT JOIN FETCH u.roles WHERE u.email = :email")
     Optional<User> findByEmail(String email);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Long> findTokenVersionById(Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+    int incrementTokenVersion(Long id);
 }
@@ -0,0 +1,44 @@
+package book.store.retry;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConflictRetryAspect {
+    private final int maxAttempts;
+    private final long backoff;
+
+    public ConflictRetryAspect(@Value("${conflict-retry.max-attempts}") int maxAttempts,
+                               @Value("${conflict-retry.backoff}") long backoff) {
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+    }
+
+    @Around("@annotation(book.store.retry.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                Thread.sleep(ThreadLocalRandom.current().nextLong(backoff * attempt + 1));
+            }
+        }
+    }
+}
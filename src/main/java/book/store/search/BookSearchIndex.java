@@ -0,0 +1,297 @@
+package book.store.search;
+
+import book.store.dto.book.BookDtoWithoutCategoryIds;
+import book.store.dto.book.BookSearchParametersDto;
+import book.store.mapper.BookMapper;
+import book.store.model.Book;
+import book.store.replica.ReadFromPrimary;
+import book.store.repository.book.BookRepository;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class BookSearchIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private static final int MIN_FUZZY_TOKEN_LENGTH = 4;
+    private static final int LONG_TOKEN_LENGTH = 8;
+    private static final double EXACT_MATCH_SCORE = 1.0;
+    private static final double PREFIX_MATCH_SCORE = 0.6;
+    private static final double FUZZY_MATCH_SCORE = 0.3;
+
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final Map<Long, IndexedBook> documents = new ConcurrentHashMap<>();
+    private final Map<Field, NavigableMap<String, Set<Long>>> postings = createPostings();
+    private final Lock lock = new ReentrantLock();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @ReadFromPrimary
+    public void rebuild() {
+        lock.lock();
+        try {
+            ready = false;
+            documents.clear();
+            postings.values().forEach(Map::clear);
+            Pageable pageable = PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id"));
+            Page<Book> page;
+            do {
+                page = bookRepository.findAll(pageable);
+                page.forEach(this::add);
+                pageable = page.nextPageable();
+            } while (page.hasNext());
+            ready = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void index(Book book) {
+        lock.lock();
+        try {
+            remove(book.getId());
+            add(book);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void indexAll(Collection<Book> books) {
+        lock.lock();
+        try {
+            if (ready) {
+                books.forEach(this::index);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        lock.lock();
+        try {
+            IndexedBook indexedBook = documents.remove(bookId);
+            if (indexedBook == null) {
+                return;
+            }
+            indexedBook.terms().forEach((field, terms) -> terms.forEach(term ->
+                    postings.get(field).computeIfPresent(term, (key, ids) -> {
+                        ids.remove(bookId);
+                        return ids.isEmpty() ? null : ids;
+                    })));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Slice<BookDtoWithoutCategoryIds> search(BookSearchParametersDto searchParameters,
+                                                   Pageable pageable) {
+        Map<Long, Double> scores = intersect(
+                matchAnyPhrase(searchParameters.titles(), Set.of(Field.TITLE)),
+                matchAnyPhrase(searchParameters.authors(), Set.of(Field.AUTHOR)));
+        if (searchParameters.query() != null && !searchParameters.query().isBlank()) {
+            scores = intersect(scores, matchPhrase(searchParameters.query(),
+                    Set.of(Field.values())));
+        }
+        if (scores == null) {
+            return slice(documents.values().stream()
+                    .map(IndexedBook::book)
+                    .sorted(Comparator.comparing(BookDtoWithoutCategoryIds::getId)), pageable);
+        }
+        return slice(scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .map(entry -> documents.get(entry.getKey()))
+                .filter(Objects::nonNull)
+                .map(IndexedBook::book), pageable);
+    }
+
+    private static <T> Slice<T> slice(Stream<T> results, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(results.toList());
+        }
+        List<T> content = results.skip(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1L)
+                .toList();
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content,
+                pageable, hasNext);
+    }
+
+    private void add(Book book) {
+        Map<Field, Set<String>> terms = new EnumMap<>(Field.class);
+        terms.put(Field.TITLE, tokenize(book.getTitle()));
+        terms.put(Field.AUTHOR, tokenize(book.getAuthor()));
+        Set<String> isbnTerms = tokenize(book.getIsbn());
+        if (book.getIsbn() != null) {
+            isbnTerms.add(TOKEN_SEPARATOR.matcher(book.getIsbn().toLowerCase(Locale.ROOT))
+                    .replaceAll(""));
+        }
+        terms.put(Field.ISBN, isbnTerms);
+        terms.put(Field.DESCRIPTION, tokenize(book.getDescription()));
+        terms.forEach((field, fieldTerms) -> fieldTerms.forEach(term ->
+                postings.get(field)
+                        .computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet())
+                        .add(book.getId())));
+        documents.put(book.getId(),
+                new IndexedBook(bookMapper.toDtoWithoutCategories(book), terms));
+    }
+
+    private Map<Long, Double> matchAnyPhrase(String[] phrases, Set<Field> fields) {
+        if (phrases == null || phrases.length == 0) {
+            return null;
+        }
+        Map<Long, Double> scores = new HashMap<>();
+        Arrays.stream(phrases)
+                .map(phrase -> matchPhrase(phrase, fields))
+                .forEach(phraseScores -> phraseScores.forEach(
+                        (bookId, score) -> scores.merge(bookId, score, Math::max)));
+        return scores;
+    }
+
+    private Map<Long, Double> matchPhrase(String phrase, Set<Field> fields) {
+        Map<Long, Double> scores = null;
+        for (String token : tokenize(phrase)) {
+            Map<Long, Double> tokenScores = new HashMap<>();
+            for (Field field : fields) {
+                matchToken(token, field).forEach((bookId, score) ->
+                        tokenScores.merge(bookId, score * field.weight, Double::sum));
+            }
+            scores = intersect(scores, tokenScores);
+        }
+        return scores == null ? new HashMap<>() : scores;
+    }
+
+    private Map<Long, Double> matchToken(String token, Field field) {
+        NavigableMap<String, Set<Long>> terms = postings.get(field);
+        Map<Long, Double> scores = new HashMap<>();
+        terms.subMap(token, true, token + Character.MAX_VALUE, true).forEach((term, ids) -> {
+            double score = term.equals(token) ? EXACT_MATCH_SCORE : PREFIX_MATCH_SCORE;
+            ids.forEach(bookId -> scores.merge(bookId, score, Math::max));
+        });
+        if (!scores.isEmpty() || token.length() < MIN_FUZZY_TOKEN_LENGTH) {
+            return scores;
+        }
+        int maxDistance = token.length() >= LONG_TOKEN_LENGTH ? 2 : 1;
+        terms.forEach((term, ids) -> {
+            if (isWithinDistance(token, term, maxDistance)) {
+                ids.forEach(bookId -> scores.merge(bookId, FUZZY_MATCH_SCORE, Math::max));
+            }
+        });
+        return scores;
+    }
+
+    private Map<Long, Double> intersect(Map<Long, Double> left, Map<Long, Double> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        Map<Long, Double> result = new HashMap<>();
+        left.forEach((bookId, score) -> {
+            Double otherScore = right.get(bookId);
+            if (otherScore != null) {
+                result.put(bookId, score + otherScore);
+            }
+        });
+        return result;
+    }
+
+    private static boolean isWithinDistance(String source, String target, int maxDistance) {
+        if (Math.abs(source.length() - target.length()) > maxDistance) {
+            return false;
+        }
+        int[] previous = new int[target.length() + 1];
+        int[] current = new int[target.length() + 1];
+        for (int j = 0; j <= target.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= source.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= target.length(); j++) {
+                int cost = source.charAt(i - 1) == target.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1),
+                        previous[j - 1] + cost);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > maxDistance) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[target.length()] <= maxDistance;
+    }
+
+    private static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Map<Field, NavigableMap<String, Set<Long>>> createPostings() {
+        Map<Field, NavigableMap<String, Set<Long>>> postings = new EnumMap<>(Field.class);
+        for (Field field : Field.values()) {
+            postings.put(field, new ConcurrentSkipListMap<>());
+        }
+        return postings;
+    }
+
+    private enum Field {
+        TITLE(3.0),
+        AUTHOR(2.0),
+        ISBN(3.0),
+        DESCRIPTION(1.0);
+
+        private final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    private record IndexedBook(BookDtoWithoutCategoryIds book, Map<Field, Set<String>> terms) {
+    }
+}
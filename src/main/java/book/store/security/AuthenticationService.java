@@ -2,10 +2,15 @@ package book.store.security;
 
 import book.store.dto.user.UserLoginRequestDto;
 import book.store.dto.user.UserLoginResponseDto;
+import book.store.model.User;
+import java.util.HashMap;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,6 +18,8 @@ import org.springframework.stereotype.Service;
 public class AuthenticationService {
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    @Value("${jwt.stateless-claims}")
+    private boolean statelessClaims;
 
     public UserLoginResponseDto authenticate(UserLoginRequestDto loginRequestDto) {
         final Authentication authentication = authenticationManager.authenticate(
@@ -20,7 +27,21 @@ public class AuthenticationService {
                     loginRequestDto.getPassword())
         );
 
-        String token = jwtUtil.generateToken(authentication.getName());
+        String token = authentication.getPrincipal() instanceof User user
+                ? jwtUtil.generateToken(user.getEmail(), getClaims(user))
+                : jwtUtil.generateToken(authentication.getName());
         return new UserLoginResponseDto(token);
     }
+
+    private Map<String, Object> getClaims(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(JwtUtil.USER_ID_CLAIM, user.getId());
+        claims.put(JwtUtil.TOKEN_VERSION_CLAIM, user.getTokenVersion());
+        if (statelessClaims) {
+            claims.put(JwtUtil.ROLES_CLAIM, user.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .toList());
+        }
+        return claims;
+    }
 }
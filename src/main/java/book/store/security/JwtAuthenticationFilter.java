@@ -1,14 +1,25 @@
 package book.store.security;
 
+import book.store.config.MetricsConfig;
+import book.store.model.Role;
+import book.store.model.User;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
@@ -20,6 +31,11 @@ import org.springframework.web.filter.OncePerRequestFilter;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final UserCache userCache;
+    private final TokenVersionService tokenVersionService;
+    private final MeterRegistry meterRegistry;
+    @Value("${jwt.stateless-claims}")
+    private boolean statelessClaims;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -27,16 +43,60 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain)
             throws ServletException, IOException {
         String token = getToken(request);
-        if (token != null && jwtUtil.isValidToken(token)) {
-            String username = jwtUtil.getUsername(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (token != null) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                authenticate(token);
+            } finally {
+                sample.stop(meterRegistry.timer(MetricsConfig.AUTHENTICATION_TIMER));
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(String token) {
+        Claims claims = jwtUtil.verify(token);
+        if (claims.containsKey(JwtUtil.USER_ID_CLAIM) && isRevoked(claims)) {
+            return;
+        }
+        UserDetails userDetails = statelessClaims && claims.containsKey(JwtUtil.ROLES_CLAIM)
+                ? getUserDetailsFromClaims(claims)
+                : loadUserDetails(claims.getSubject());
+        if (userDetails != null) {
             Authentication authentication = new UsernamePasswordAuthenticationToken(
                     userDetails, null, userDetails.getAuthorities()
             );
             SecurityContextHolder.getContext().setAuthentication(authentication);
         }
+    }
 
-        filterChain.doFilter(request, response);
+    private boolean isRevoked(Claims claims) {
+        Long userId = claims.get(JwtUtil.USER_ID_CLAIM, Long.class);
+        Long tokenVersion = claims.get(JwtUtil.TOKEN_VERSION_CLAIM, Long.class);
+        return !Objects.equals(tokenVersionService.getTokenVersion(userId), tokenVersion);
+    }
+
+    private UserDetails getUserDetailsFromClaims(Claims claims) {
+        Long userId = claims.get(JwtUtil.USER_ID_CLAIM, Long.class);
+        Long tokenVersion = claims.get(JwtUtil.TOKEN_VERSION_CLAIM, Long.class);
+        List<?> roles = claims.get(JwtUtil.ROLES_CLAIM, List.class);
+        return new UserSnapshot(userId, claims.getSubject(), tokenVersion,
+                roles.stream()
+                        .map(role -> Role.RoleName.valueOf(role.toString()))
+                        .collect(Collectors.toUnmodifiableSet()))
+                .toUser();
+    }
+
+    private UserDetails loadUserDetails(String username) {
+        if (userCache.getUserFromCache(username) instanceof UserSnapshot userSnapshot) {
+            return userSnapshot.toUser();
+        }
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (userDetails instanceof User user) {
+            userCache.putUserInCache(UserSnapshot.of(user));
+        }
+        return userDetails;
     }
 
     private String getToken(HttpServletRequest request) {
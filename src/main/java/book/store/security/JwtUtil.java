@@ -1,29 +1,54 @@
 package book.store.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class JwtUtil {
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+    private static final int VERIFIED_TOKENS_MAX_SIZE = 10_000;
+
     @Value("${JWT_EXPIRATION}")
     private long expiration;
     private final Key secret;
+    private final JwtParser parser;
+    private final Cache<String, Claims> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(VERIFIED_TOKENS_MAX_SIZE)
+            .expireAfter(new ExpireAtTokenExpiration())
+            .build();
 
     public JwtUtil(@Value("${JWT_SECRET}") String secretString) {
         secret = Keys.hmacShaKeyFor(secretString.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .setSigningKey(secret)
+                .build();
     }
 
     public String generateToken(String username) {
+        return generateToken(username, Map.of());
+    }
+
+    public String generateToken(String username, Map<String, ?> claims) {
         return Jwts.builder()
+                .claims(claims)
                 .setSubject(username)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
@@ -31,28 +56,52 @@ public class JwtUtil {
                 .compact();
     }
 
-    public boolean isValidToken(String token) {
+    public Claims verify(String token) {
+        String tokenDigest = digest(token);
+        Claims claims = verifiedTokens.getIfPresent(tokenDigest);
+        if (claims != null) {
+            return claims;
+        }
         try {
-            Jws<Claims> claimsJws = Jwts.parser()
-                    .setSigningKey(secret)
-                    .build()
-                    .parseClaimsJws(token);
-            return !claimsJws.getBody().getExpiration().before(new Date());
+            claims = parser.parseSignedClaims(token).getPayload();
         } catch (JwtException | IllegalArgumentException e) {
             throw new JwtException("Expired or invalid JWT token");
         }
+        if (claims.getExpiration() == null) {
+            throw new JwtException("Expired or invalid JWT token");
+        }
+        verifiedTokens.put(tokenDigest, claims);
+        return claims;
     }
 
-    public String getUsername(String token) {
-        return getClaimsFromToken(token, Claims::getSubject);
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
     }
 
-    private <T> T getClaimsFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parser()
-                .setSigningKey(secret)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claimsResolver.apply(claims);
+    private static class ExpireAtTokenExpiration implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long millisToExpiration = claims.getExpiration().getTime()
+                    - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millisToExpiration));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,33 @@
+package book.store.security;
+
+import book.store.config.CacheConfig;
+import book.store.model.User;
+import book.store.replica.ReadFromPrimary;
+import book.store.repository.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class TokenVersionService {
+    private final UserRepository userRepository;
+    private final UserCache userCache;
+
+    @Cacheable(cacheNames = CacheConfig.TOKEN_VERSIONS, key = "#userId",
+            unless = "#result == null")
+    @ReadFromPrimary
+    public Long getTokenVersion(Long userId) {
+        return userRepository.findTokenVersionById(userId).orElse(null);
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TOKEN_VERSIONS, key = "#user.id")
+    public void revokeTokens(User user) {
+        userRepository.incrementTokenVersion(user.getId());
+        userCache.removeUserFromCache(user.getEmail());
+    }
+}
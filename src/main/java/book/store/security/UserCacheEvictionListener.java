@@ -0,0 +1,31 @@
+package book.store.security;
+
+import book.store.config.CacheConfig;
+import book.store.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class UserCacheEvictionListener {
+    private final ObjectProvider<UserCache> userCache;
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        userCache.ifAvailable(cache -> cache.removeUserFromCache(user.getEmail()));
+        cacheManager.ifAvailable(manager -> {
+            Cache tokenVersions = manager.getCache(CacheConfig.TOKEN_VERSIONS);
+            if (tokenVersions != null) {
+                tokenVersions.evict(user.getId());
+            }
+        });
+    }
+}
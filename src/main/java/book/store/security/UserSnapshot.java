@@ -0,0 +1,75 @@
+package book.store.security;
+
+import book.store.model.Role;
+import book.store.model.User;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+@Getter
+@RequiredArgsConstructor
+public final class UserSnapshot implements UserDetails {
+    private final Long id;
+    private final String email;
+    private final long tokenVersion;
+    private final Set<Role.RoleName> roleNames;
+
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(user.getId(), user.getEmail(), user.getTokenVersion(),
+                user.getRoles().stream()
+                        .map(Role::getRoleName)
+                        .collect(Collectors.toUnmodifiableSet()));
+    }
+
+    public User toUser() {
+        return new User()
+                .setId(id)
+                .setEmail(email)
+                .setTokenVersion(tokenVersion)
+                .setRoles(roleNames.stream()
+                        .map(roleName -> new Role().setRoleName(roleName))
+                        .collect(Collectors.toSet()));
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return roleNames.stream()
+                .map(roleName -> new SimpleGrantedAuthority(roleName.name()))
+                .toList();
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,9 @@
+package book.store.service;
+
+import book.store.catalog.CatalogFormat;
+import book.store.dto.book.BookImportReportDto;
+import java.io.InputStream;
+
+public interface BookImportService {
+    BookImportReportDto importBooks(InputStream inputStream, CatalogFormat format);
+}
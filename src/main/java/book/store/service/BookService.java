@@ -1,14 +1,15 @@
 package book.store.service;
 
+import book.store.dto.book.BookCursorPageDto;
 import book.store.dto.book.BookDto;
-import book.store.dto.book.BookDtoWithoutCategoryIds;
 import book.store.dto.book.BookSearchParametersDto;
+import book.store.dto.book.BookSliceDto;
 import book.store.dto.book.CreateBookRequestDto;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 
 public interface BookService {
-    List<BookDtoWithoutCategoryIds> search(BookSearchParametersDto searchParameters);
+    BookSliceDto search(BookSearchParametersDto searchParameters, Pageable pageable);
 
     BookDto save(CreateBookRequestDto requestDto);
 
@@ -16,9 +17,11 @@ public interface BookService {
 
     List<BookDto> findAll(Pageable pageable);
 
+    BookCursorPageDto findAllByCursor(String sort, String after, int size);
+
     BookDto updateBookById(Long id, CreateBookRequestDto requestDto);
 
     void deleteById(Long id);
 
-    List<BookDtoWithoutCategoryIds> findAllBooksByCategoryId(Long id);
+    BookSliceDto findAllBooksByCategoryId(Long id, Pageable pageable);
 }
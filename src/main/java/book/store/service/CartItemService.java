@@ -1,5 +1,5 @@
 package book.store.service;
 
 public interface CartItemService {
-    void deleteCartItemById(Long cartItemId);
+    void deleteCartItemById(Long userId, Long cartItemId);
 }
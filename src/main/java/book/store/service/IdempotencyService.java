@@ -0,0 +1,8 @@
+package book.store.service;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    <T> T execute(Long userId, String idempotencyKey, Object request, Class<T> responseType,
+                  Supplier<T> action);
+}
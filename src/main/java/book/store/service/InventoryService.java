@@ -0,0 +1,15 @@
+package book.store.service;
+
+import book.store.dto.book.BookStockDto;
+import book.store.dto.book.UpdateBookStockRequestDto;
+import java.util.Map;
+
+public interface InventoryService {
+    BookStockDto getStock(Long bookId);
+
+    BookStockDto updateStock(Long bookId, UpdateBookStockRequestDto requestDto);
+
+    void setStock(Map<Long, Integer> quantitiesByBookId);
+
+    void reserve(Map<Long, Integer> quantitiesByBookId);
+}
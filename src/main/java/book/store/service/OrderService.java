@@ -12,5 +12,11 @@ public interface OrderService {
 
     OrderDto placeOrder(User user, PlaceOrderRequestDto requestDto);
 
+    OrderDto placeOrderAsync(User user, PlaceOrderRequestDto requestDto);
+
+    void completePlacements(List<Long> orderIds);
+
+    OrderDto getOrderById(Long userId, Long orderId);
+
     OrderDto updateOrderStatus(Long orderId, UpdateOrderStatusRequestDto requestDto);
 }
@@ -3,13 +3,16 @@ package book.store.service;
 import book.store.dto.shopping.cart.AddBookToShoppingCartRequestDto;
 import book.store.dto.shopping.cart.ShoppingCartDto;
 import book.store.dto.shopping.cart.UpdateBookQuantityRequestDto;
+import book.store.dto.shopping.cart.UpdateCartItemsRequestDto;
 
 public interface ShoppingCartService {
-    ShoppingCartDto getShoppingCartByUser(String userEmail);
+    ShoppingCartDto getShoppingCartByUserId(Long userId);
 
-    ShoppingCartDto addBookToShoppingCart(String userEmail,
+    ShoppingCartDto addBookToShoppingCart(Long userId,
                                           AddBookToShoppingCartRequestDto requestDto);
 
-    ShoppingCartDto updateBookQuantityInCartItem(Long cartItemId,
+    ShoppingCartDto updateBookQuantityInCartItem(Long userId, Long cartItemId,
                                                  UpdateBookQuantityRequestDto requestDto);
+
+    ShoppingCartDto updateCartItems(Long userId, UpdateCartItemsRequestDto requestDto);
 }
@@ -1,10 +1,19 @@
 package book.store.service;
 
+import book.store.dto.user.ChangePasswordRequestDto;
+import book.store.dto.user.UpdateUserRolesRequestDto;
 import book.store.dto.user.UserRegistrationRequestDto;
 import book.store.dto.user.UserRegistrationResponseDto;
 import book.store.exception.RegistrationException;
+import book.store.model.User;
 
 public interface UserService {
     UserRegistrationResponseDto register(UserRegistrationRequestDto userRegistrationRequestDto)
             throws RegistrationException;
+
+    void logout(User user);
+
+    void changePassword(Long userId, ChangePasswordRequestDto changePasswordRequestDto);
+
+    void updateRoles(Long userId, UpdateUserRolesRequestDto updateUserRolesRequestDto);
 }
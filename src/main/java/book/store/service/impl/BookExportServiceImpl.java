@@ -0,0 +1,70 @@
+package book.store.service.impl;
+
+import book.store.catalog.CatalogFormat;
+import book.store.config.MetricsConfig;
+import book.store.dto.book.BookDto;
+import book.store.mapper.BookMapper;
+import book.store.repository.book.BookExportRepository;
+import book.store.service.BookExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import io.micrometer.core.annotation.Timed;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+public class BookExportServiceImpl implements BookExportService {
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+            .addColumn("id")
+            .addColumn("title")
+            .addColumn("author")
+            .addColumn("isbn")
+            .addColumn("price")
+            .addColumn("description")
+            .addColumn("coverImage")
+            .addArrayColumn("categoryIds", ";")
+            .build()
+            .withHeader();
+
+    private final ObjectMapper objectMapper;
+    private final BookMapper bookMapper;
+    private final BookExportRepository bookExportRepository;
+
+    @Override
+    public void exportBooks(OutputStream outputStream, CatalogFormat format) throws IOException {
+        try (SequenceWriter sequenceWriter = writerFor(format)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValues(outputStream)) {
+            bookExportRepository.forEach(book -> write(sequenceWriter, bookMapper.toDto(book)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private ObjectWriter writerFor(CatalogFormat format) {
+        return switch (format) {
+            case CSV -> CSV_MAPPER.writerFor(BookDto.class).with(CSV_SCHEMA);
+            case NDJSON -> objectMapper.writerFor(BookDto.class).withRootValueSeparator("\n");
+        };
+    }
+
+    private void write(SequenceWriter sequenceWriter, BookDto bookDto) {
+        try {
+            sequenceWriter.write(bookDto);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package book.store.service.impl;
+
+import book.store.catalog.CatalogFormat;
+import book.store.config.CacheConfig;
+import book.store.config.MetricsConfig;
+import book.store.dto.book.BookImportErrorDto;
+import book.store.dto.book.BookImportReportDto;
+import book.store.dto.book.CreateBookRequestDto;
+import book.store.mapper.BookMapper;
+import book.store.model.Book;
+import book.store.repository.book.BookImportRepository;
+import book.store.repository.category.CategoryRepository;
+import book.store.search.BookSearchIndex;
+import book.store.service.BookImportService;
+import book.store.service.InventoryService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+public class BookImportServiceImpl implements BookImportService {
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int PROGRESS_LOG_INTERVAL = 10_000;
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.emptySchema()
+            .withHeader()
+            .withArrayElementSeparator(";");
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final BookMapper bookMapper;
+    private final BookImportRepository bookImportRepository;
+    private final CategoryRepository categoryRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final InventoryService inventoryService;
+    private final CacheManager cacheManager;
+    private final SessionFactory sessionFactory;
+    private final TransactionTemplate transactionTemplate;
+    @Value("${catalog-import.batch-size}")
+    private int batchSize;
+
+    @Override
+    public BookImportReportDto importBooks(InputStream inputStream, CatalogFormat format) {
+        BookImportReportDto report = new BookImportReportDto();
+        Set<Long> categoryIds = categoryRepository.findAllIds();
+        Map<String, ImportRow> batch = new LinkedHashMap<>();
+        try (MappingIterator<CreateBookRequestDto> rows = readerFor(format)
+                .readValues(inputStream)) {
+            while (rows.hasNextValue()) {
+                ImportRow row = readRow(rows, report, categoryIds);
+                if (row != null) {
+                    ImportRow superseded = batch.put(
+                            row.book().getIsbn().toLowerCase(Locale.ROOT), row);
+                    if (superseded != null) {
+                        addError(report, superseded.rowNumber(), superseded.book().getIsbn(),
+                                "Superseded by row " + row.rowNumber() + " with the same ISBN");
+                    }
+                }
+                if (batch.size() == batchSize) {
+                    writeBatch(new ArrayList<>(batch.values()), report);
+                    batch.clear();
+                }
+                if (report.getRows() % PROGRESS_LOG_INTERVAL == 0) {
+                    logProgress(report);
+                }
+            }
+        } catch (IOException e) {
+            addError(report, report.getRows() + 1, null,
+                    "Can't read the rest of the input: " + e.getMessage());
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(new ArrayList<>(batch.values()), report);
+        }
+        logProgress(report);
+        return report;
+    }
+
+    private ObjectReader readerFor(CatalogFormat format) {
+        return switch (format) {
+            case CSV -> CSV_MAPPER.readerFor(CreateBookRequestDto.class).with(CSV_SCHEMA);
+            case NDJSON -> objectMapper.readerFor(CreateBookRequestDto.class);
+        };
+    }
+
+    private ImportRow readRow(MappingIterator<CreateBookRequestDto> rows,
+                              BookImportReportDto report,
+                              Set<Long> categoryIds) throws IOException {
+        int rowNumber = report.getRows() + 1;
+        report.setRows(rowNumber);
+        CreateBookRequestDto requestDto;
+        try {
+            requestDto = rows.nextValue();
+        } catch (JsonProcessingException e) {
+            addError(report, rowNumber, null, e.getOriginalMessage());
+            return null;
+        }
+        String error = validate(requestDto, categoryIds);
+        if (error != null) {
+            addError(report, rowNumber, requestDto.getIsbn(), error);
+            return null;
+        }
+        return new ImportRow(rowNumber, requestDto);
+    }
+
+    private String validate(CreateBookRequestDto requestDto, Set<Long> categoryIds) {
+        Set<ConstraintViolation<CreateBookRequestDto>> violations =
+                validator.validate(requestDto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " "
+                            + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        List<Long> unknownCategoryIds = requestDto.getCategoryIds().stream()
+                .filter(categoryId -> !categoryIds.contains(categoryId))
+                .sorted()
+                .toList();
+        return unknownCategoryIds.isEmpty()
+                ? null
+                : "Can't find categories with ids " + unknownCategoryIds;
+    }
+
+    private void writeBatch(List<ImportRow> rows, BookImportReportDto report) {
+        List<Book> books = rows.stream()
+                .map(row -> bookMapper.toModel(row.book()))
+                .toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(rows, books));
+        } catch (DataAccessException e) {
+            if (rows.size() == 1) {
+                addError(report, rows.get(0).rowNumber(), rows.get(0).book().getIsbn(),
+                        e.getMostSpecificCause().getMessage());
+                return;
+            }
+            rows.forEach(row -> writeBatch(List.of(row), report));
+            return;
+        }
+        report.setImported(report.getImported() + books.size());
+        bookSearchIndex.indexAll(books);
+        evictBooks(books);
+    }
+
+    private void write(List<ImportRow> rows, List<Book> books) {
+        bookImportRepository.upsert(books);
+        Map<String, Long> bookIds = bookImportRepository.findIdsByIsbn(books.stream()
+                .map(Book::getIsbn)
+                .toList());
+        books.forEach(book -> book.setId(bookIds.get(book.getIsbn().toLowerCase(Locale.ROOT))));
+        bookImportRepository.replaceCategories(books);
+        Map<Long, Integer> stockByBookId = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i).book().getStock() != null) {
+                stockByBookId.put(books.get(i).getId(), rows.get(i).book().getStock());
+            }
+        }
+        if (!stockByBookId.isEmpty()) {
+            inventoryService.setStock(stockByBookId);
+        }
+    }
+
+    private void evictBooks(List<Book> books) {
+        books.forEach(book -> {
+            sessionFactory.getCache().evictEntityData(Book.class, book.getId());
+            sessionFactory.getCache().evictCollectionData(CacheConfig.BOOK_CATEGORIES,
+                    book.getId());
+        });
+        Cache booksCache = cacheManager.getCache(CacheConfig.BOOKS);
+        if (booksCache != null) {
+            books.forEach(book -> booksCache.evict(book.getId()));
+        }
+        Cache booksByCategory = cacheManager.getCache(CacheConfig.BOOKS_BY_CATEGORY);
+        if (booksByCategory != null) {
+            booksByCategory.clear();
+        }
+    }
+
+    private void addError(BookImportReportDto report, int rowNumber, String isbn,
+                          String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new BookImportErrorDto()
+                    .setRow(rowNumber)
+                    .setIsbn(isbn)
+                    .setMessage(message));
+        }
+    }
+
+    private void logProgress(BookImportReportDto report) {
+        log.info("Book import read {} rows: {} imported, {} failed", report.getRows(),
+                report.getImported(), report.getFailed());
+    }
+
+    private record ImportRow(int rowNumber, CreateBookRequestDto book) {
+    }
+}
@@ -1,44 +1,84 @@
 package book.store.service.impl;
 
+import book.store.config.CacheConfig;
+import book.store.config.MetricsConfig;
+import book.store.dto.book.BookCursorPageDto;
 import book.store.dto.book.BookDto;
 import book.store.dto.book.BookDtoWithoutCategoryIds;
 import book.store.dto.book.BookSearchParametersDto;
+import book.store.dto.book.BookSliceDto;
 import book.store.dto.book.CreateBookRequestDto;
 import book.store.exception.EntityNotFoundException;
+import book.store.exception.InvalidRequestException;
 import book.store.mapper.BookMapper;
 import book.store.model.Book;
+import book.store.repository.TwoPhaseFetchRepository;
+import book.store.repository.book.BookCursor;
 import book.store.repository.book.BookRepository;
 import book.store.repository.book.BookSpecificationBuilder;
+import book.store.search.BookSearchIndex;
 import book.store.service.BookService;
+import book.store.service.InventoryService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @RequiredArgsConstructor
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class BookServiceImpl implements BookService {
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
     private final BookSpecificationBuilder bookSpecificationBuilder;
+    private final BookSearchIndex bookSearchIndex;
+    private final InventoryService inventoryService;
 
     @Override
-    public List<BookDtoWithoutCategoryIds> search(BookSearchParametersDto searchParameters) {
+    public BookSliceDto search(BookSearchParametersDto searchParameters, Pageable pageable) {
+        if (bookSearchIndex.isReady()) {
+            return toSliceDto(bookSearchIndex.search(searchParameters, pageable));
+        }
         Specification<Book> bookSpecification = bookSpecificationBuilder.build(searchParameters);
-        return bookRepository.findAll(bookSpecification).stream()
-                .map(bookMapper::toDtoWithoutCategories)
-                .toList();
+        Window<Book> books = bookRepository.findBy(bookSpecification, query -> query
+                .sortBy(TwoPhaseFetchRepository.withIdTiebreaker(pageable).getSort())
+                .limit(pageable.getPageSize())
+                .scroll(ScrollPosition.offset(pageable.getOffset())));
+        return toSliceDto(new SliceImpl<>(books.getContent(), pageable, books.hasNext())
+                .map(bookMapper::toDtoWithoutCategories));
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_BY_CATEGORY, allEntries = true)
+    @Transactional
     public BookDto save(CreateBookRequestDto requestDto) {
         Book book = bookMapper.toModel(requestDto);
         Book savedBook = bookRepository.save(book);
+        setStock(savedBook.getId(), requestDto);
+        indexAfterCommit(savedBook);
         return bookMapper.toDto(savedBook);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.BOOKS, key = "#id")
     public BookDto findById(Long id) {
         return bookRepository.findBookById(id)
                 .map(bookMapper::toDto)
@@ -53,24 +93,86 @@ public class BookServiceImpl implements BookService {
     }
 
     @Override
-    public List<BookDtoWithoutCategoryIds> findAllBooksByCategoryId(Long categoryId) {
-        List<Book> books = bookRepository.findBooksByCategoryId(categoryId);
-        return books.stream()
-                .map(bookMapper::toDtoWithoutCategories)
-                .toList();
+    public BookCursorPageDto findAllByCursor(String sort, String after, int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new InvalidRequestException("Page size must be between 1 and "
+                    + MAX_CURSOR_PAGE_SIZE);
+        }
+        BookCursor cursor = after == null
+                ? BookCursor.first(BookCursor.SortKey.valueOf(sort.toUpperCase(Locale.ROOT)))
+                : BookCursor.decode(after);
+        Limit limit = Limit.of(size + 1);
+        List<Long> bookIds = switch (cursor.sortKey()) {
+            case ID -> bookRepository.findBookIdsAfterId(cursor.id(), limit);
+            case TITLE -> bookRepository.findBookIdsAfterTitle(cursor.value(), cursor.id(), limit);
+        };
+        boolean hasNext = bookIds.size() > size;
+        List<Book> books = bookIds.isEmpty() ? List.of() : bookRepository.findAllFetched(
+                hasNext ? bookIds.subList(0, size) : bookIds, cursor.sortKey().getSort());
+        String nextCursor = hasNext
+                ? BookCursor.after(cursor.sortKey(), books.get(books.size() - 1)).encode()
+                : null;
+        return new BookCursorPageDto()
+                .setContent(books.stream()
+                        .map(bookMapper::toDto)
+                        .toList())
+                .setNextCursor(nextCursor);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.BOOKS_BY_CATEGORY, key = "{#categoryId, #pageable}")
+    public BookSliceDto findAllBooksByCategoryId(Long categoryId, Pageable pageable) {
+        return toSliceDto(bookRepository.findBooksByCategoryId(categoryId, pageable)
+                .map(bookMapper::toDtoWithoutCategories));
     }
 
     @Override
+    @Caching(put = @CachePut(cacheNames = CacheConfig.BOOKS, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.BOOKS_BY_CATEGORY, allEntries = true))
+    @Transactional
     public BookDto updateBookById(Long id, CreateBookRequestDto requestDto) {
         Book book = bookRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException("Can't find book with id: " + id));
         Book updatedBook = bookMapper.updateBookFromDto(requestDto, book);
         Book savedBook = bookRepository.save(updatedBook);
+        setStock(id, requestDto);
+        indexAfterCommit(savedBook);
         return bookMapper.toDto(savedBook);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.BOOKS_BY_CATEGORY, allEntries = true)
+    })
     public void deleteById(Long id) {
         bookRepository.deleteById(id);
+        bookSearchIndex.remove(id);
+    }
+
+    private BookSliceDto toSliceDto(Slice<BookDtoWithoutCategoryIds> books) {
+        return new BookSliceDto()
+                .setContent(books.getContent())
+                .setHasNext(books.hasNext());
+    }
+
+    private void indexAfterCommit(Book book) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bookSearchIndex.index(book);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        bookSearchIndex.index(book);
+                    }
+                });
+    }
+
+    private void setStock(Long bookId, CreateBookRequestDto requestDto) {
+        if (requestDto.getStock() != null) {
+            inventoryService.setStock(Map.of(bookId, requestDto.getStock()));
+        }
     }
 }
@@ -1,17 +1,32 @@
 package book.store.service.impl;
 
+import book.store.config.MetricsConfig;
+import book.store.exception.EntityNotFoundException;
+import book.store.repository.shopping.cart.ShoppingCartRepository;
 import book.store.repository.shopping.cart.item.CartItemRepository;
+import book.store.retry.RetryOnConflict;
 import book.store.service.CartItemService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class CartItemServiceImpl implements CartItemService {
     private final CartItemRepository cartItemRepository;
+    private final ShoppingCartRepository shoppingCartRepository;
 
     @Override
-    public void deleteCartItemById(Long cartItemId) {
-        cartItemRepository.deleteById(cartItemId);
+    @RetryOnConflict
+    @Transactional
+    public void deleteCartItemById(Long userId, Long cartItemId) {
+        Long shoppingCartId = shoppingCartRepository.findIdByUserId(userId).orElseThrow(
+                () -> new EntityNotFoundException(
+                        "Can't find shopping cart for user with id " + userId));
+        if (cartItemRepository.softDeleteByIdAndShoppingCartId(cartItemId, shoppingCartId) > 0) {
+            shoppingCartRepository.incrementVersionById(shoppingCartId);
+        }
     }
 }
@@ -1,24 +1,41 @@
 package book.store.service.impl;
 
+import book.store.config.CacheConfig;
+import book.store.config.MetricsConfig;
 import book.store.dto.category.CategoryDto;
 import book.store.dto.category.CreateCategoryRequestDto;
 import book.store.exception.EntityNotFoundException;
 import book.store.mapper.CategoryMapper;
 import book.store.model.Category;
+import book.store.repository.book.BookRepository;
 import book.store.repository.category.CategoryRepository;
 import book.store.service.CategoryService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryMapper categoryMapper;
     private final CategoryRepository categoryRepository;
+    private final BookRepository bookRepository;
+    private final CacheManager cacheManager;
+    private final SessionFactory sessionFactory;
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.CATEGORY_PAGES, key = "#pageable")
     public List<CategoryDto> findAll(Pageable pageable) {
         return categoryRepository.findAll(pageable).stream()
                 .map(categoryMapper::toDto)
@@ -26,6 +43,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "#id")
     public CategoryDto getById(Long id) {
         return categoryRepository.findById(id)
                 .map(categoryMapper::toDto)
@@ -35,6 +53,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CATEGORY_PAGES, allEntries = true)
     public CategoryDto save(CreateCategoryRequestDto createCategoryRequestDto) {
         Category savedCategory = categoryRepository.save(
                 categoryMapper.toEntity(createCategoryRequestDto));
@@ -42,6 +61,9 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Caching(put = @CachePut(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.CATEGORY_PAGES, allEntries = true))
+    @Transactional
     public CategoryDto update(Long id, CreateCategoryRequestDto createCategoryRequestDto) {
         Category categoryById = categoryRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException("Can't find category with id " + id)
@@ -53,7 +75,20 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORY_PAGES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.BOOKS_BY_CATEGORY, allEntries = true)
+    })
+    @Transactional
     public void deleteById(Long id) {
+        List<Long> bookIds = bookRepository.findBookIdsByCategoryId(id);
         categoryRepository.deleteById(id);
+        Cache books = cacheManager.getCache(CacheConfig.BOOKS);
+        if (books != null) {
+            bookIds.forEach(books::evict);
+        }
+        bookIds.forEach(bookId -> sessionFactory.getCache()
+                .evictCollectionData(CacheConfig.BOOK_CATEGORIES, bookId));
     }
 }
@@ -0,0 +1,105 @@
+package book.store.service.impl;
+
+import book.store.config.MetricsConfig;
+import book.store.exception.IdempotencyKeyInUseException;
+import book.store.exception.IdempotencyKeyMismatchException;
+import book.store.exception.InvalidRequestException;
+import book.store.repository.idempotency.IdempotencyKeyRepository;
+import book.store.retry.RetryOnConflict;
+import book.store.service.IdempotencyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    @Value("${idempotency.claim-timeout}")
+    private long claimTimeout;
+
+    @Override
+    @RetryOnConflict
+    public <T> T execute(Long userId, String idempotencyKey, Object request,
+                         Class<T> responseType, Supplier<T> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidRequestException("Idempotency-Key must be from 1 to "
+                    + MAX_KEY_LENGTH + " characters long");
+        }
+        String requestHash = hash(request);
+        return transactionTemplate.execute(status -> {
+            if (!claim(userId, idempotencyKey, requestHash)) {
+                return replay(userId, idempotencyKey, requestHash, responseType);
+            }
+            T response = action.get();
+            idempotencyKeyRepository.saveResponse(userId, idempotencyKey, write(response));
+            return response;
+        });
+    }
+
+    private boolean claim(Long userId, String idempotencyKey, String requestHash) {
+        if (idempotencyKeyRepository.insert(userId, idempotencyKey, requestHash)) {
+            return true;
+        }
+        return idempotencyKeyRepository.deleteUnfinished(userId, idempotencyKey,
+                LocalDateTime.now().minus(claimTimeout, ChronoUnit.MILLIS))
+                && idempotencyKeyRepository.insert(userId, idempotencyKey, requestHash);
+    }
+
+    private <T> T replay(Long userId, String idempotencyKey, String requestHash,
+                         Class<T> responseType) {
+        IdempotencyKeyRepository.IdempotencyKey savedKey = idempotencyKeyRepository
+                .find(userId, idempotencyKey)
+                .orElseThrow(() -> new IdempotencyKeyInUseException(
+                        "A request with this Idempotency-Key has just failed, please try again"));
+        if (!savedKey.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException("Idempotency-Key " + idempotencyKey
+                    + " was already used with a different request");
+        }
+        if (savedKey.response() == null) {
+            throw new IdempotencyKeyInUseException("A request with Idempotency-Key "
+                    + idempotencyKey + " is still being processed");
+        }
+        try {
+            return objectMapper.readValue(savedKey.response(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can't read the saved response for Idempotency-Key "
+                    + idempotencyKey, e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Can't hash the request", e);
+        }
+    }
+
+    private String write(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can't serialize the response", e);
+        }
+    }
+}
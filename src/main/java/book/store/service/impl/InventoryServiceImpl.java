@@ -0,0 +1,123 @@
+package book.store.service.impl;
+
+import book.store.config.MetricsConfig;
+import book.store.dto.book.BookStockDto;
+import book.store.dto.book.UpdateBookStockRequestDto;
+import book.store.exception.EntityNotFoundException;
+import book.store.exception.OutOfStockException;
+import book.store.repository.book.BookRepository;
+import book.store.repository.book.BookStockRepository;
+import book.store.repository.book.BookStockRepository.ShardQuantity;
+import book.store.service.InventoryService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+public class InventoryServiceImpl implements InventoryService {
+    private final BookStockRepository bookStockRepository;
+    private final BookRepository bookRepository;
+    @Value("${inventory.stock-shards}")
+    private int stockShards;
+
+    @Override
+    public BookStockDto getStock(Long bookId) {
+        checkBookExists(bookId);
+        return new BookStockDto()
+                .setBookId(bookId)
+                .setQuantity(bookStockRepository.sumQuantity(bookId));
+    }
+
+    @Override
+    @Transactional
+    public BookStockDto updateStock(Long bookId, UpdateBookStockRequestDto requestDto) {
+        checkBookExists(bookId);
+        setStock(Map.of(bookId, requestDto.getQuantity()));
+        return new BookStockDto()
+                .setBookId(bookId)
+                .setQuantity(requestDto.getQuantity());
+    }
+
+    @Override
+    @Transactional
+    public void setStock(Map<Long, Integer> quantitiesByBookId) {
+        bookStockRepository.replace(List.copyOf(quantitiesByBookId.keySet()),
+                quantitiesByBookId.entrySet().stream()
+                        .flatMap(entry -> splitAcrossShards(entry.getKey(), entry.getValue()))
+                        .toList());
+    }
+
+    @Override
+    @Transactional(dontRollbackOn = OutOfStockException.class)
+    public void reserve(Map<Long, Integer> quantitiesByBookId) {
+        List<ShardQuantity> attempts = new TreeMap<>(quantitiesByBookId).entrySet().stream()
+                .map(entry -> new ShardQuantity(entry.getKey(),
+                        ThreadLocalRandom.current().nextInt(stockShards), entry.getValue()))
+                .toList();
+        int[] updateCounts = bookStockRepository.decrement(attempts);
+        List<ShardQuantity> reserved = new ArrayList<>();
+        List<ShardQuantity> missed = new ArrayList<>();
+        for (int i = 0; i < attempts.size(); i++) {
+            if (updateCounts[i] == 0) {
+                missed.add(attempts.get(i));
+            } else {
+                reserved.add(attempts.get(i));
+            }
+        }
+        for (ShardQuantity shardQuantity : missed) {
+            List<ShardQuantity> shards = bookStockRepository.lockShards(shardQuantity.bookId());
+            if (shards.isEmpty()) {
+                continue;
+            }
+            List<ShardQuantity> taken = takeAcrossShards(shards, shardQuantity.quantity());
+            if (taken.isEmpty()) {
+                if (!reserved.isEmpty()) {
+                    bookStockRepository.increment(reserved);
+                }
+                throw new OutOfStockException("Not enough copies of book with id: "
+                        + shardQuantity.bookId() + " in stock");
+            }
+            reserved.addAll(taken);
+        }
+    }
+
+    private List<ShardQuantity> takeAcrossShards(List<ShardQuantity> shards, int quantity) {
+        if (shards.stream().mapToInt(ShardQuantity::quantity).sum() < quantity) {
+            return List.of();
+        }
+        List<ShardQuantity> taken = new ArrayList<>();
+        int remaining = quantity;
+        for (ShardQuantity shard : shards) {
+            int shardQuantity = Math.min(remaining, shard.quantity());
+            if (shardQuantity > 0) {
+                taken.add(new ShardQuantity(shard.bookId(), shard.shard(), shardQuantity));
+                remaining -= shardQuantity;
+            }
+        }
+        bookStockRepository.decrement(taken);
+        return taken;
+    }
+
+    private Stream<ShardQuantity> splitAcrossShards(Long bookId, int quantity) {
+        return IntStream.range(0, stockShards)
+                .mapToObj(shard -> new ShardQuantity(bookId, shard, quantity / stockShards
+                        + (shard < quantity % stockShards ? 1 : 0)));
+    }
+
+    private void checkBookExists(Long bookId) {
+        if (!bookRepository.existsById(bookId)) {
+            throw new EntityNotFoundException("Can't find book with id: " + bookId);
+        }
+    }
+}
@@ -1,17 +1,20 @@
 package book.store.service.impl;
 
+import book.store.config.MetricsConfig;
 import book.store.dto.order.item.OrderItemDto;
 import book.store.exception.EntityNotFoundException;
 import book.store.mapper.OrderItemMapper;
 import book.store.model.OrderItem;
 import book.store.repository.order.item.OrderItemRepository;
 import book.store.service.OrderItemService;
+import io.micrometer.core.annotation.Timed;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class OrderItemServiceImpl implements OrderItemService {
     private final OrderItemRepository orderItemRepository;
@@ -1,36 +1,56 @@
 package book.store.service.impl;
 
+import book.store.config.MetricsConfig;
 import book.store.dto.order.OrderDto;
 import book.store.dto.order.PlaceOrderRequestDto;
 import book.store.dto.order.UpdateOrderStatusRequestDto;
 import book.store.exception.EntityNotFoundException;
+import book.store.exception.OrderPlacementRejectedException;
+import book.store.exception.OutOfStockException;
 import book.store.mapper.OrderMapper;
 import book.store.model.CartItem;
 import book.store.model.Order;
 import book.store.model.OrderItem;
+import book.store.model.OutboxEvent;
 import book.store.model.ShoppingCart;
 import book.store.model.User;
+import book.store.order.OrderPlacementQueue;
+import book.store.outbox.OrderEventOutbox;
 import book.store.repository.order.OrderRepository;
 import book.store.repository.shopping.cart.ShoppingCartRepository;
 import book.store.repository.shopping.cart.item.CartItemRepository;
+import book.store.retry.RetryOnConflict;
+import book.store.service.InventoryService;
 import book.store.service.OrderService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+@Slf4j
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
     private final OrderRepository orderRepository;
     private final ShoppingCartRepository shoppingCartRepository;
     private final CartItemRepository cartItemRepository;
     private final OrderMapper orderMapper;
+    private final OrderPlacementQueue orderPlacementQueue;
+    private final OrderEventOutbox orderEventOutbox;
+    private final InventoryService inventoryService;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public List<OrderDto> getAllOrders(Pageable pageable, Long userId) {
@@ -41,26 +61,95 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
+    @RetryOnConflict
     @Transactional
     public OrderDto placeOrder(User user, PlaceOrderRequestDto requestDto) {
-        Set<OrderItem> orderItems = createOrderItems(user);
-        BigDecimal totalPrice = calculateTotalPrice(orderItems);
-        String shippingAddress = requestDto.getShippingAddress();
-        Order savedOrder = createOrder(user, orderItems, totalPrice, shippingAddress);
+        Set<CartItem> cartItems = takeCartItems(user);
+        inventoryService.reserve(getQuantitiesByBookId(cartItems));
+        Order order = createOrder(user, Order.Status.ACCEPTED, requestDto.getShippingAddress());
+        Order savedOrder = saveOrder(order, cartItems);
+        OrderDto orderDto = orderMapper.toDto(savedOrder);
+        orderEventOutbox.append(OutboxEvent.Type.ORDER_PLACED, orderDto);
+        return orderDto;
+    }
+
+    @Override
+    @RetryOnConflict
+    public OrderDto placeOrderAsync(User user, PlaceOrderRequestDto requestDto) {
+        if (!orderPlacementQueue.hasCapacity()) {
+            throw new OrderPlacementRejectedException("Too many orders are being placed "
+                    + "right now, please try again later");
+        }
+        Order savedOrder = transactionTemplate.execute(status -> {
+            Set<CartItem> cartItems = takeCartItems(user);
+            Order order = createOrder(user, Order.Status.PROCESSING,
+                    requestDto.getShippingAddress());
+            order.setPlacementOwner(orderPlacementQueue.getOwner());
+            order.setPlacementLeaseUntil(orderPlacementQueue.getLeaseUntil(order.getOrderDate()));
+            return saveOrder(order, cartItems);
+        });
+        enqueuePlacement(savedOrder.getId());
         return orderMapper.toDto(savedOrder);
     }
 
     @Override
+    @RetryOnConflict
+    @Transactional
+    public void completePlacements(List<Long> orderIds) {
+        List<Order> orders = orderRepository.findAllByIdInAndStatus(orderIds,
+                Order.Status.PROCESSING);
+        orders.forEach(this::completePlacement);
+        orderRepository.flush();
+        orders.forEach(order -> orderEventOutbox.append(
+                order.getStatus() == Order.Status.ACCEPTED
+                        ? OutboxEvent.Type.ORDER_PLACED
+                        : OutboxEvent.Type.ORDER_STATUS_CHANGED,
+                orderMapper.toDto(order)));
+    }
+
+    @Override
+    public OrderDto getOrderById(Long userId, Long orderId) {
+        Order order = orderRepository.findByIdAndUserId(orderId, userId).orElseThrow(
+                () -> new EntityNotFoundException("Can't find order with id " + orderId));
+        return orderMapper.toDto(order);
+    }
+
+    @Override
+    @RetryOnConflict
+    @Transactional
     public OrderDto updateOrderStatus(Long orderId, UpdateOrderStatusRequestDto requestDto) {
         Order order = orderRepository.findById(orderId).orElseThrow(
                 () -> new EntityNotFoundException("Can't find order with id " + orderId));
         Order.Status newStatus = Order.Status.valueOf(requestDto.getStatus().toUpperCase());
         order.setStatus(newStatus);
         Order updatedOrder = orderRepository.save(order);
-        return orderMapper.toDto(updatedOrder);
+        OrderDto orderDto = orderMapper.toDto(updatedOrder);
+        orderEventOutbox.append(OutboxEvent.Type.ORDER_STATUS_CHANGED, orderDto);
+        return orderDto;
+    }
+
+    private void enqueuePlacement(Long orderId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            offerPlacement(orderId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        offerPlacement(orderId);
+                    }
+                });
     }
 
-    private Set<OrderItem> createOrderItems(User user) {
+    private void offerPlacement(Long orderId) {
+        if (!orderPlacementQueue.offer(orderId)) {
+            log.warn("Order placement queue is full, order {} will be completed after "
+                    + "its placement lease expires", orderId);
+        }
+    }
+
+    private Set<CartItem> takeCartItems(User user) {
         Long userId = user.getId();
         ShoppingCart userShoppingCart = shoppingCartRepository.findShoppingCartByUserId(userId)
                 .orElseThrow(
@@ -69,10 +158,9 @@ public class OrderServiceImpl implements OrderService {
         Set<CartItem> cartItems = cartItemRepository
                 .findAllByShoppingCartId(userShoppingCart.getId());
         checkPresenceOfCartItems(cartItems);
-        cartItemRepository.deleteAll(userShoppingCart.getCartItems());
-        return cartItems.stream()
-                .map(this::convertCartItemIntoOrderItem)
-                .collect(Collectors.toSet());
+        shoppingCartRepository.incrementVersion(userShoppingCart);
+        cartItemRepository.softDeleteAllByShoppingCartIdIn(List.of(userShoppingCart.getId()));
+        return cartItems;
     }
 
     private boolean checkPresenceOfCartItems(Set<CartItem> cartItems) {
@@ -91,6 +179,25 @@ public class OrderServiceImpl implements OrderService {
         return orderItem;
     }
 
+    private void completePlacement(Order order) {
+        try {
+            inventoryService.reserve(order.getOrderItems().stream()
+                    .collect(Collectors.toMap(orderItem -> orderItem.getBook().getId(),
+                            OrderItem::getQuantity, Integer::sum)));
+            order.setStatus(Order.Status.ACCEPTED);
+        } catch (OutOfStockException e) {
+            order.setStatus(Order.Status.REJECTED);
+        }
+        order.setPlacementOwner(null);
+        order.setPlacementLeaseUntil(null);
+    }
+
+    private Map<Long, Integer> getQuantitiesByBookId(Set<CartItem> cartItems) {
+        return cartItems.stream()
+                .collect(Collectors.toMap(cartItem -> cartItem.getBook().getId(),
+                        CartItem::getQuantity, Integer::sum));
+    }
+
     private BigDecimal calculateTotalPrice(Set<OrderItem> orderItems) {
         return orderItems.stream()
                 .map(orderItem -> orderItem.getPrice()
@@ -98,20 +205,22 @@ public class OrderServiceImpl implements OrderService {
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
-    private Order createOrder(User user,
-                              Set<OrderItem> orderItems,
-                              BigDecimal totalPrice,
-                              String shippingAddress) {
+    private Order createOrder(User user, Order.Status status, String shippingAddress) {
         Order order = new Order();
         order.setUser(user);
-        order.setStatus(Order.Status.ACCEPTED);
-        order.setTotal(totalPrice);
+        order.setStatus(status);
         order.setOrderDate(LocalDateTime.now());
         order.setShippingAddress(shippingAddress);
+        return order;
+    }
 
+    private Order saveOrder(Order order, Set<CartItem> cartItems) {
+        Set<OrderItem> orderItems = cartItems.stream()
+                .map(this::convertCartItemIntoOrderItem)
+                .collect(Collectors.toSet());
         orderItems.forEach(orderItem -> orderItem.setOrder(order));
         order.setOrderItems(orderItems);
-
+        order.setTotal(calculateTotalPrice(orderItems));
         return orderRepository.save(order);
     }
 }
@@ -1,45 +1,57 @@
 package book.store.service.impl;
 
+import book.store.config.MetricsConfig;
 import book.store.dto.shopping.cart.AddBookToShoppingCartRequestDto;
 import book.store.dto.shopping.cart.ShoppingCartDto;
 import book.store.dto.shopping.cart.UpdateBookQuantityRequestDto;
+import book.store.dto.shopping.cart.UpdateCartItemsRequestDto;
+import book.store.dto.shopping.cart.item.CartItemOperationDto;
 import book.store.exception.EntityNotFoundException;
+import book.store.exception.InvalidRequestException;
 import book.store.exception.ItemIsAlreadyInCartException;
 import book.store.mapper.ShoppingCartMapper;
+import book.store.model.Book;
 import book.store.model.CartItem;
 import book.store.model.ShoppingCart;
 import book.store.repository.book.BookRepository;
 import book.store.repository.shopping.cart.ShoppingCartRepository;
 import book.store.repository.shopping.cart.item.CartItemRepository;
-import book.store.repository.user.UserRepository;
+import book.store.retry.RetryOnConflict;
 import book.store.service.ShoppingCartService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class ShoppingCartServiceImpl implements ShoppingCartService {
-    private final UserRepository userRepository;
     private final BookRepository bookRepository;
     private final CartItemRepository cartItemRepository;
     private final ShoppingCartRepository shoppingCartRepository;
     private final ShoppingCartMapper shoppingCartMapper;
 
     @Override
-    public ShoppingCartDto getShoppingCartByUser(String userEmail) {
-        ShoppingCart shoppingCart = findShoppingCartByUserEmail(userEmail);
+    public ShoppingCartDto getShoppingCartByUserId(Long userId) {
+        ShoppingCart shoppingCart = findShoppingCartByUserId(userId);
         return shoppingCartMapper.toDto(shoppingCart);
     }
 
     @Override
+    @RetryOnConflict
     @Transactional
-    public ShoppingCartDto addBookToShoppingCart(String userEmail,
+    public ShoppingCartDto addBookToShoppingCart(Long userId,
                                                  AddBookToShoppingCartRequestDto requestDto) {
-        ShoppingCart shoppingCart = findShoppingCartByUserEmail(userEmail);
+        ShoppingCart shoppingCart = findShoppingCartByUserId(userId);
         checkIfBookIsInTheCart(shoppingCart, requestDto);
+        shoppingCartRepository.incrementVersion(shoppingCart);
 
         CartItem newCartItem = setUpNewCartItem(shoppingCart, requestDto);
         CartItem savedNewCartItem = cartItemRepository.save(newCartItem);
@@ -50,24 +62,55 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
     }
 
     @Override
-    public ShoppingCartDto updateBookQuantityInCartItem(Long cartItemId,
+    @RetryOnConflict
+    @Transactional
+    public ShoppingCartDto updateBookQuantityInCartItem(Long userId, Long cartItemId,
                                                     UpdateBookQuantityRequestDto updateRequestDto) {
-        CartItem cartItem = cartItemRepository.findById(cartItemId).orElseThrow(
-                () -> new EntityNotFoundException("Can't find cart item with id " + cartItemId)
-        );
-        cartItem.setQuantity(updateRequestDto.getQuantity());
-        CartItem savedCartItem = cartItemRepository.save(cartItem);
-        Long userId = savedCartItem.getShoppingCart().getUser().getId();
-        ShoppingCart updatedShoppingCart = shoppingCartRepository.findShoppingCartByUserId(userId)
+        ShoppingCart shoppingCart = findShoppingCartByUserId(userId);
+        CartItem cartItem = shoppingCart.getCartItems().stream()
+                .filter(item -> item.getId().equals(cartItemId))
+                .findFirst()
                 .orElseThrow(() -> new EntityNotFoundException(
-                        "Can't find shopping cart for user with id " + userId));
-        return shoppingCartMapper.toDto(updatedShoppingCart);
+                        "Can't find cart item with id " + cartItemId));
+        cartItem.setQuantity(updateRequestDto.getQuantity());
+        shoppingCartRepository.incrementVersion(shoppingCart);
+        return shoppingCartMapper.toDto(shoppingCart);
+    }
+
+    @Override
+    @RetryOnConflict
+    @Transactional
+    public ShoppingCartDto updateCartItems(Long userId, UpdateCartItemsRequestDto requestDto) {
+        ShoppingCart shoppingCart = findShoppingCartByUserId(userId);
+        List<CartItemOperationDto> operations = requestDto.getOperations();
+        checkIfBooksAreUnique(operations);
+        Map<Long, CartItem> cartItemsByBookId = shoppingCart.getCartItems().stream()
+                .collect(Collectors.toMap(cartItem -> cartItem.getBook().getId(),
+                        Function.identity()));
+        Map<Long, Book> addedBooks = findAddedBooks(operations);
+        List<CartItem> newCartItems = new ArrayList<>();
+        List<CartItem> removedCartItems = new ArrayList<>();
+        for (CartItemOperationDto operation : operations) {
+            CartItem cartItem = cartItemsByBookId.get(operation.getBookId());
+            switch (operation.getType()) {
+                case ADD -> newCartItems.add(createCartItem(shoppingCart, cartItem,
+                        addedBooks.get(operation.getBookId()), operation));
+                case UPDATE -> getCartItem(cartItem, operation)
+                        .setQuantity(getQuantity(operation));
+                case REMOVE -> removedCartItems.add(getCartItem(cartItem, operation));
+                default -> throw new IllegalArgumentException(
+                        "Unknown operation " + operation.getType());
+            }
+        }
+        shoppingCart.getCartItems().removeAll(removedCartItems);
+        shoppingCart.getCartItems().addAll(newCartItems);
+        cartItemRepository.deleteAll(removedCartItems);
+        cartItemRepository.saveAll(newCartItems);
+        shoppingCartRepository.incrementVersion(shoppingCart);
+        return shoppingCartMapper.toDto(shoppingCart);
     }
 
-    private ShoppingCart findShoppingCartByUserEmail(String userEmail) {
-        Long userId = userRepository.findByEmail(userEmail).orElseThrow(
-                () -> new EntityNotFoundException("Can't find user with email " + userEmail)
-        ).getId();
+    private ShoppingCart findShoppingCartByUserId(Long userId) {
         return shoppingCartRepository.findShoppingCartByUserId(userId)
                 .orElseThrow(() -> new EntityNotFoundException(
                         "Can't find shopping cart for user with id " + userId));
@@ -95,4 +138,62 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
         newCartItem.setQuantity(requestDto.getQuantity());
         return newCartItem;
     }
+
+    private void checkIfBooksAreUnique(List<CartItemOperationDto> operations) {
+        long uniqueBooks = operations.stream()
+                .map(CartItemOperationDto::getBookId)
+                .distinct()
+                .count();
+        if (uniqueBooks != operations.size()) {
+            throw new InvalidRequestException("Each book can appear only once in a request");
+        }
+    }
+
+    private Map<Long, Book> findAddedBooks(List<CartItemOperationDto> operations) {
+        List<Long> bookIds = operations.stream()
+                .filter(operation -> operation.getType() == CartItemOperationDto.Type.ADD)
+                .map(CartItemOperationDto::getBookId)
+                .toList();
+        if (bookIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Book> books = bookRepository.findAllById(bookIds).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        bookIds.stream()
+                .filter(bookId -> !books.containsKey(bookId))
+                .findFirst()
+                .ifPresent(bookId -> {
+                    throw new EntityNotFoundException("Can't find book with id " + bookId);
+                });
+        return books;
+    }
+
+    private CartItem createCartItem(ShoppingCart shoppingCart, CartItem cartItem, Book book,
+                                    CartItemOperationDto operation) {
+        if (cartItem != null) {
+            throw new ItemIsAlreadyInCartException("Book with id " + operation.getBookId()
+                    + " is already in your shopping cart!");
+        }
+        return new CartItem()
+                .setShoppingCart(shoppingCart)
+                .setBook(book)
+                .setQuantity(getQuantity(operation));
+    }
+
+    private CartItem getCartItem(CartItem cartItem, CartItemOperationDto operation) {
+        if (cartItem == null) {
+            throw new EntityNotFoundException("Book with id " + operation.getBookId()
+                    + " is not in your shopping cart");
+        }
+        return cartItem;
+    }
+
+    private int getQuantity(CartItemOperationDto operation) {
+        if (operation.getQuantity() == null) {
+            throw new InvalidRequestException("Quantity is required to "
+                    + operation.getType().name().toLowerCase() + " book with id "
+                    + operation.getBookId());
+        }
+        return operation.getQuantity();
+    }
 }
@@ -1,8 +1,13 @@
 package book.store.service.impl;
 
+import book.store.config.MetricsConfig;
 import book.store.config.SecurityConfig;
+import book.store.dto.user.ChangePasswordRequestDto;
+import book.store.dto.user.UpdateUserRolesRequestDto;
 import book.store.dto.user.UserRegistrationRequestDto;
 import book.store.dto.user.UserRegistrationResponseDto;
+import book.store.exception.EntityNotFoundException;
+import book.store.exception.InvalidRequestException;
 import book.store.exception.RegistrationException;
 import book.store.mapper.UserMapper;
 import book.store.model.Role;
@@ -11,11 +16,17 @@ import book.store.model.User;
 import book.store.repository.role.RoleRepository;
 import book.store.repository.shopping.cart.ShoppingCartRepository;
 import book.store.repository.user.UserRepository;
+import book.store.security.TokenVersionService;
 import book.store.service.UserService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
@@ -23,8 +34,10 @@ public class UserServiceImpl implements UserService {
     private final SecurityConfig securityConfig;
     private final RoleRepository roleRepository;
     private final ShoppingCartRepository shoppingCartRepository;
+    private final TokenVersionService tokenVersionService;
 
     @Override
+    @Transactional
     public UserRegistrationResponseDto register(
             UserRegistrationRequestDto userRegistrationRequestDto) throws RegistrationException {
         if (userRepository.findByEmail(userRegistrationRequestDto.getEmail()).isPresent()) {
@@ -43,4 +56,38 @@ public class UserServiceImpl implements UserService {
 
         return userMapper.toUserResponseDto(savedUser);
     }
+
+    @Override
+    public void logout(User user) {
+        tokenVersionService.revokeTokens(user);
+    }
+
+    @Override
+    @Transactional
+    public void changePassword(Long userId, ChangePasswordRequestDto changePasswordRequestDto) {
+        User user = getUserById(userId);
+        PasswordEncoder passwordEncoder = securityConfig.getPasswordEncoder();
+        if (!passwordEncoder.matches(changePasswordRequestDto.getCurrentPassword(),
+                user.getPassword())) {
+            throw new InvalidRequestException("Current password is wrong");
+        }
+        user.setPassword(passwordEncoder.encode(changePasswordRequestDto.getNewPassword()));
+        tokenVersionService.revokeTokens(user);
+    }
+
+    @Override
+    @Transactional
+    public void updateRoles(Long userId, UpdateUserRolesRequestDto updateUserRolesRequestDto) {
+        User user = getUserById(userId);
+        user.setRoles(updateUserRolesRequestDto.getRoles().stream()
+                .map(roleRepository::findByRoleName)
+                .collect(Collectors.toSet()));
+        tokenVersionService.revokeTokens(user);
+    }
+
+    private User getUserById(Long userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("Can't find user with id: "
+                        + userId));
+    }
 }
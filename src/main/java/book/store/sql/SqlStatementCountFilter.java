@@ -0,0 +1,55 @@
+package book.store.sql;
+
+import book.store.config.MetricsConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final SqlStatementCounter sqlStatementCounter;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        sqlStatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            record(request, sqlStatementCounter.stop());
+        }
+    }
+
+    private void record(HttpServletRequest request, int statements) {
+        String uri = Objects.toString(
+                request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE), UNKNOWN_URI);
+        meterRegistry.summary(MetricsConfig.SQL_STATEMENTS_SUMMARY,
+                        "method", request.getMethod(), "uri", uri)
+                .record(statements);
+        if (statements > sqlStatementCounter.getBudget()) {
+            meterRegistry.counter(MetricsConfig.SQL_BUDGET_EXCEEDED_COUNTER,
+                    "method", request.getMethod(), "uri", uri).increment();
+            log.warn("{} {} executed {} SQL statements, budget is {}", request.getMethod(),
+                    request.getRequestURI(), statements, sqlStatementCounter.getBudget());
+        }
+    }
+}
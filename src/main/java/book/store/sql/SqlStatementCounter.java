@@ -0,0 +1,129 @@
+package book.store.sql;
+
+import book.store.exception.SqlStatementBudgetExceededException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SqlStatementCounter implements BeanPostProcessor {
+    private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    private final ThreadLocal<Deque<Count>> currentCounts = new ThreadLocal<>();
+    private final int budget;
+    private final boolean rejectOverBudget;
+
+    public SqlStatementCounter(@Value("${sql.statements.budget}") int budget,
+                               @Value("${sql.statements.reject-over-budget}")
+                               boolean rejectOverBudget) {
+        this.budget = budget;
+        this.rejectOverBudget = rejectOverBudget;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource && DATA_SOURCE_BEAN_NAME.equals(beanName)
+                ? wrap(dataSource)
+                : bean;
+    }
+
+    private DataSource wrap(DataSource dataSource) {
+        Class<?>[] types = dataSource instanceof AutoCloseable
+                ? new Class<?>[]{DataSource.class, AutoCloseable.class}
+                : new Class<?>[]{DataSource.class};
+        return (DataSource) proxy(types, (method, args) -> {
+            Object result = invoke(dataSource, method, args);
+            return method.getName().equals("getConnection")
+                    ? proxy(new Class<?>[]{Connection.class},
+                            (connectionMethod, connectionArgs) ->
+                                    intercept((Connection) result, connectionMethod,
+                                            connectionArgs))
+                    : result;
+        });
+    }
+
+    private Object intercept(Connection connection, Method method, Object[] args)
+            throws Throwable {
+        Object result = invoke(connection, method, args);
+        return result instanceof Statement statement
+                ? proxy(new Class<?>[]{method.getReturnType()},
+                        (statementMethod, statementArgs) -> {
+                            if (statementMethod.getName().startsWith("execute")) {
+                                count();
+                            }
+                            return invoke(statement, statementMethod, statementArgs);
+                        })
+                : result;
+    }
+
+    private void count() {
+        Deque<Count> counts = currentCounts.get();
+        if (counts == null) {
+            return;
+        }
+        counts.forEach(count -> count.value++);
+        if (counts.peek().value > budget && rejectOverBudget) {
+            throw new SqlStatementBudgetExceededException("Request exceeded the budget of "
+                    + budget + " SQL statements");
+        }
+    }
+
+    public void start() {
+        Deque<Count> counts = currentCounts.get();
+        if (counts == null) {
+            counts = new ArrayDeque<>();
+            currentCounts.set(counts);
+        }
+        counts.push(new Count());
+    }
+
+    public int stop() {
+        Deque<Count> counts = currentCounts.get();
+        if (counts == null) {
+            return 0;
+        }
+        Count count = counts.pop();
+        if (counts.isEmpty()) {
+            currentCounts.remove();
+        }
+        return count.value;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Object proxy(Class<?>[] types, Interceptor interceptor) {
+        InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> interceptor.intercept(method, args);
+        };
+        return Proxy.newProxyInstance(SqlStatementCounter.class.getClassLoader(), types, handler);
+    }
+
+    private interface Interceptor {
+        Object intercept(Method method, Object[] args) throws Throwable;
+    }
+
+    private static class Count {
+        private int value;
+    }
+}
@@ -0,0 +1,65 @@
+package book.store.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.cache.type=caffeine")
+public class CacheConfigTest {
+    private static final Long KEY = 1L;
+
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = cacheManager.getCache(CacheConfig.CATEGORIES);
+        cache.clear();
+    }
+
+    @Test
+    @DisplayName("Evictions made in a transaction are applied after it commits")
+    public void evict_InTransaction_AppliedAfterCommit() {
+        //given
+        cache.put(KEY, "cached");
+
+        //when
+        Cache.ValueWrapper cachedBeforeCommit = transactionTemplate.execute(status -> {
+            cache.evict(KEY);
+            return cache.get(KEY);
+        });
+
+        //then
+        assertNotNull(cachedBeforeCommit);
+        assertNull(cache.get(KEY));
+    }
+
+    @Test
+    @DisplayName("Puts made in a rolled back transaction are discarded")
+    public void put_InRolledBackTransaction_IsDiscarded() {
+        //given
+        cache.put(KEY, "committed");
+
+        //when
+        transactionTemplate.executeWithoutResult(status -> {
+            cache.put(KEY, "rolled back");
+            status.setRollbackOnly();
+        });
+
+        //then
+        assertEquals("committed", cache.get(KEY).get());
+    }
+}
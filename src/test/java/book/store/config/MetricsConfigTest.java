@@ -0,0 +1,162 @@
+package book.store.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import book.store.security.JwtUtil;
+import book.store.service.CategoryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class MetricsConfigTest {
+    private static final String EMAIL = "user2@example.com";
+
+    private static MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private CategoryService categoryService;
+    @Value("${metrics.scrape.username}")
+    private String scrapeUsername;
+    @Value("${metrics.scrape.password}")
+    private String scrapePassword;
+
+    @BeforeAll
+    static void beforeAll(@Autowired DataSource dataSource,
+                          @Autowired WebApplicationContext applicationContext) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .apply(springSecurity())
+                .build();
+        teardown(dataSource);
+    }
+
+    @BeforeEach
+    public void beforeEach(@Autowired @NotNull DataSource dataSource) {
+        executeSqlScript(dataSource, "database/user/add-users-to-users-tables.sql");
+    }
+
+    @AfterEach
+    public void afterEach(@Autowired DataSource dataSource) {
+        teardown(dataSource);
+    }
+
+    @Test
+    @DisplayName("Service calls record the @Timed service timer")
+    public void findAll_ServiceCall_RecordsServiceTimer() {
+        //when
+        categoryService.findAll(PageRequest.of(0, 10));
+
+        //then
+        Timer timer = meterRegistry.find(MetricsConfig.SERVICE_TIMER)
+                .tag("method", "findAll")
+                .timer();
+        assertNotNull(timer);
+        assertTrue(timer.count() > 0);
+    }
+
+    @Test
+    @DisplayName("Requests with a JWT record the JWT authentication timer")
+    public void getCategories_BearerToken_RecordsAuthenticationTimer() throws Exception {
+        //given
+        final long authentications = countAuthentications();
+
+        //when
+        ResultActions result = mockMvc.perform(get("/api/categories")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(EMAIL)));
+
+        //then
+        result.andExpect(status().isForbidden());
+        assertEquals(authentications + 1, countAuthentications());
+    }
+
+    @Test
+    @DisplayName("Prometheus scrapes with the scrape credential and exports the custom timers")
+    public void scrape_ScrapeCredential_ExportsCustomTimers() throws Exception {
+        //given
+        categoryService.findAll(PageRequest.of(0, 10));
+        mockMvc.perform(get("/api/categories")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(EMAIL)));
+
+        //when
+        String metrics = mockMvc.perform(get(SecurityConfig.PROMETHEUS_ENDPOINT)
+                        .with(httpBasic(scrapeUsername, scrapePassword)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        //then
+        assertTrue(metrics.contains("book_store_service_seconds_count"));
+        assertTrue(metrics.contains("book_store_jwt_authentication_seconds_count"));
+    }
+
+    @Test
+    @DisplayName("Prometheus rejects scrapes without credentials")
+    public void scrape_NoCredentials_ReturnsUnauthorized() throws Exception {
+        //when
+        ResultActions result = mockMvc.perform(get(SecurityConfig.PROMETHEUS_ENDPOINT));
+
+        //then
+        result.andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("The scrape credential doesn't open the other actuator endpoints")
+    public void getMetrics_ScrapeCredential_ReturnsUnauthorized() throws Exception {
+        //when
+        ResultActions result = mockMvc.perform(get("/actuator/metrics")
+                .with(httpBasic(scrapeUsername, scrapePassword)));
+
+        //then
+        result.andExpect(status().isUnauthorized());
+    }
+
+    private long countAuthentications() {
+        Timer timer = meterRegistry.find(MetricsConfig.AUTHENTICATION_TIMER).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private static void teardown(DataSource dataSource) {
+        executeSqlScript(dataSource, "database/user/delete-users-from-users-table.sql");
+    }
+
+    private static void executeSqlScript(DataSource dataSource, String script) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource(script));
+        } catch (SQLException e) {
+            throw new RuntimeException("Error executing " + script, e);
+        }
+    }
+}
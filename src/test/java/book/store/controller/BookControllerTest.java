@@ -1,17 +1,32 @@
 package book.store.controller;
 
+import static book.store.sql.SqlStatementCountAssertions.assertStatementCount;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import book.store.dto.book.BookCursorPageDto;
 import book.store.dto.book.BookDto;
 import book.store.dto.book.BookDtoWithoutCategoryIds;
+import book.store.dto.book.BookImportErrorDto;
+import book.store.dto.book.BookImportReportDto;
+import book.store.dto.book.BookSliceDto;
+import book.store.dto.book.BookStockDto;
 import book.store.dto.book.CreateBookRequestDto;
+import book.store.dto.book.UpdateBookStockRequestDto;
+import book.store.search.BookSearchIndex;
+import book.store.sql.SqlStatementCounter;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
@@ -46,6 +61,10 @@ public class BookControllerTest {
     protected static MockMvc mockMvc;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
 
     @BeforeAll
     static void beforeAll(@Autowired DataSource dataSource,
@@ -72,6 +91,7 @@ public class BookControllerTest {
         } catch (SQLException e) {
             throw new RuntimeException("Error creating up database", e);
         }
+        bookSearchIndex.rebuild();
     }
 
     @AfterEach
@@ -103,12 +123,13 @@ public class BookControllerTest {
                 .setDescription("Description for Book 3").setCoverImage("cover3.jpg"));
 
         //when
-        MvcResult result = mockMvc.perform(get("/api/books")
+        MvcResult result = assertStatementCount(sqlStatementCounter, 2,
+                () -> mockMvc.perform(get("/api/books")
                         .param("page", "0")
                         .param("size", "10")
                 )
                 .andExpect(status().isOk())
-                .andReturn();
+                .andReturn());
 
         //then
         List<BookDto> actualBookDtoList = objectMapper.readValue(
@@ -119,6 +140,56 @@ public class BookControllerTest {
         assertEquals(expectedBookDtoList, actualBookDtoList);
     }
 
+    @WithMockUser(username = "user")
+    @Test
+    @DisplayName("Find all books by cursor")
+    public void getAllByCursor_ValidCursor_ReturnsNextBooks() throws Exception {
+        //when
+        MvcResult firstResult = assertStatementCount(sqlStatementCounter, 2,
+                () -> mockMvc.perform(get("/api/books/cursor")
+                        .param("sort", "title")
+                        .param("size", "2")
+                )
+                .andExpect(status().isOk())
+                .andReturn());
+        BookCursorPageDto firstPage = objectMapper.readValue(
+                firstResult.getResponse().getContentAsByteArray(), BookCursorPageDto.class);
+
+        MvcResult secondResult = assertStatementCount(sqlStatementCounter, 2,
+                () -> mockMvc.perform(get("/api/books/cursor")
+                        .param("after", firstPage.getNextCursor())
+                        .param("size", "2")
+                )
+                .andExpect(status().isOk())
+                .andReturn());
+        BookCursorPageDto secondPage = objectMapper.readValue(
+                secondResult.getResponse().getContentAsByteArray(), BookCursorPageDto.class);
+
+        //then
+        assertEquals(List.of(3L), secondPage.getContent().stream()
+                .map(BookDto::getId)
+                .toList());
+        assertNull(secondPage.getNextCursor());
+        assertEquals(List.of(1L, 2L), firstPage.getContent().stream()
+                .map(BookDto::getId)
+                .toList());
+        assertEquals(Collections.singleton(1L), firstPage.getContent().get(0).getCategoryIds());
+    }
+
+    @WithMockUser(username = "user")
+    @Test
+    @DisplayName("Find all books by an invalid cursor")
+    public void getAllByCursor_InvalidCursor_ReturnsBadRequest() throws Exception {
+        //when
+        MvcResult result = mockMvc.perform(get("/api/books/cursor")
+                        .param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        //then
+        assertTrue(result.getResponse().getContentAsString().contains("Invalid cursor"));
+    }
+
     @WithMockUser(username = "user")
     @Test
     @DisplayName("Search books by params")
@@ -135,28 +206,59 @@ public class BookControllerTest {
         List<BookDtoWithoutCategoryIds> expectedBookDtoList = List.of(expectedBookDto);
 
         //when
-        MvcResult result1 = mockMvc.perform(get("/api/books/search")
+        MvcResult result1 = assertStatementCount(sqlStatementCounter, 0,
+                () -> mockMvc.perform(get("/api/books/search")
                         .param("titles","Book 2")
                 )
                 .andExpect(status().isOk())
-                .andReturn();
+                .andReturn());
 
-        MvcResult result2 = mockMvc.perform(get("/api/books/search")
+        MvcResult result2 = assertStatementCount(sqlStatementCounter, 0,
+                () -> mockMvc.perform(get("/api/books/search")
                         .param("authors","Author 2")
                 )
                 .andExpect(status().isOk())
+                .andReturn());
+
+        //then
+        BookSliceDto actualBookDto1 = objectMapper.readValue(
+                result1.getResponse().getContentAsByteArray(), BookSliceDto.class);
+        BookSliceDto actualBookDto2 = objectMapper.readValue(
+                result2.getResponse().getContentAsByteArray(), BookSliceDto.class);
+
+        assertEquals(expectedBookDtoList, actualBookDto1.getContent());
+        assertFalse(actualBookDto1.isHasNext());
+        assertEquals(expectedBookDtoList, actualBookDto2.getContent());
+        assertFalse(actualBookDto2.isHasNext());
+    }
+
+    @WithMockUser(username = "user")
+    @Test
+    @DisplayName("Search books page by page")
+    public void searchBooks_PagedParams_ReturnsSliceWithNextFlag() throws Exception {
+        //when
+        MvcResult firstPageResult = mockMvc.perform(get("/api/books/search")
+                        .param("query", "Book")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult lastPageResult = mockMvc.perform(get("/api/books/search")
+                        .param("query", "Book")
+                        .param("page", "1")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
                 .andReturn();
 
         //then
-        List<BookDtoWithoutCategoryIds> actualBookDto1 = objectMapper.readValue(
-                result1.getResponse().getContentAsByteArray(),
-                new TypeReference<List<BookDtoWithoutCategoryIds>>() {});
-        List<BookDtoWithoutCategoryIds> actualBookDto2 = objectMapper.readValue(
-                result2.getResponse().getContentAsByteArray(),
-                new TypeReference<List<BookDtoWithoutCategoryIds>>() {});
-
-        assertEquals(expectedBookDtoList, actualBookDto1);
-        assertEquals(expectedBookDtoList, actualBookDto2);
+        BookSliceDto firstPage = objectMapper.readValue(
+                firstPageResult.getResponse().getContentAsByteArray(), BookSliceDto.class);
+        BookSliceDto lastPage = objectMapper.readValue(
+                lastPageResult.getResponse().getContentAsByteArray(), BookSliceDto.class);
+
+        assertEquals(2, firstPage.getContent().size());
+        assertTrue(firstPage.isHasNext());
+        assertEquals(1, lastPage.getContent().size());
+        assertFalse(lastPage.isHasNext());
     }
 
     @WithMockUser(username = "user")
@@ -176,10 +278,11 @@ public class BookControllerTest {
                 .setCoverImage("cover2.jpg");
 
         //when
-        MvcResult result = mockMvc.perform(get("/api/books/{id}", bookId)
+        MvcResult result = assertStatementCount(sqlStatementCounter, 1,
+                () -> mockMvc.perform(get("/api/books/{id}", bookId)
                 )
                 .andExpect(status().isOk())
-                .andReturn();
+                .andReturn());
 
         //then
         BookDto actualBookDto = objectMapper.readValue(result.getResponse().getContentAsByteArray(),
@@ -199,12 +302,13 @@ public class BookControllerTest {
         String jsonRequest = objectMapper.writeValueAsString(createBookRequestDto);
 
         //when
-        MvcResult result = mockMvc.perform(post("/api/books")
+        MvcResult result = assertStatementCount(sqlStatementCounter, 2,
+                () -> mockMvc.perform(post("/api/books")
                         .content(jsonRequest)
                         .contentType(MediaType.APPLICATION_JSON)
                 )
                 .andExpect(status().isOk())
-                .andReturn();
+                .andReturn());
 
         //then
         BookDto actualBookDto = objectMapper.readValue(result.getResponse().getContentAsByteArray(),
@@ -228,12 +332,13 @@ public class BookControllerTest {
         String jsonRequest = objectMapper.writeValueAsString(createBookRequestDto);
 
         //when
-        MvcResult result = mockMvc.perform(put("/api/books/{id}", bookId)
+        MvcResult result = assertStatementCount(sqlStatementCounter, 5,
+                () -> mockMvc.perform(put("/api/books/{id}", bookId)
                         .content(jsonRequest)
                         .contentType(MediaType.APPLICATION_JSON)
                 )
                 .andExpect(status().isOk())
-                .andReturn();
+                .andReturn());
 
         //then
         BookDto actualBookDto = objectMapper.readValue(result.getResponse().getContentAsByteArray(),
@@ -242,6 +347,60 @@ public class BookControllerTest {
         assertEquals(expectedBookDto, actualBookDto);
     }
 
+    @WithMockUser(username = "admin", roles = {"ADMIN", "USER"})
+    @Test
+    @DisplayName("Update and get the stock of a book")
+    public void updateBookStock_ValidRequestDto_ReturnsValidBookStockDto() throws Exception {
+        //given
+        Long bookId = 2L;
+        UpdateBookStockRequestDto requestDto = new UpdateBookStockRequestDto().setQuantity(10);
+        BookStockDto expectedBookStockDto = new BookStockDto()
+                .setBookId(bookId)
+                .setQuantity(10);
+
+        String jsonRequest = objectMapper.writeValueAsString(requestDto);
+
+        //when
+        MvcResult updateResult = assertStatementCount(sqlStatementCounter, 3,
+                () -> mockMvc.perform(put("/api/books/{id}/stock", bookId)
+                        .content(jsonRequest)
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andReturn());
+        MvcResult getResult = assertStatementCount(sqlStatementCounter, 2,
+                () -> mockMvc.perform(get("/api/books/{id}/stock", bookId)
+                )
+                .andExpect(status().isOk())
+                .andReturn());
+
+        //then
+        assertEquals(expectedBookStockDto, objectMapper.readValue(
+                updateResult.getResponse().getContentAsByteArray(), BookStockDto.class));
+        assertEquals(expectedBookStockDto, objectMapper.readValue(
+                getResult.getResponse().getContentAsByteArray(), BookStockDto.class));
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN", "USER"})
+    @Test
+    @DisplayName("Get the stock of a book that isn't tracked")
+    public void getBookStock_NoStockRows_ReturnsNullQuantity() throws Exception {
+        //given
+        Long bookId = 1L;
+        BookStockDto expectedBookStockDto = new BookStockDto()
+                .setBookId(bookId);
+
+        //when
+        MvcResult result = mockMvc.perform(get("/api/books/{id}/stock", bookId)
+                )
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then
+        assertEquals(expectedBookStockDto, objectMapper.readValue(
+                result.getResponse().getContentAsByteArray(), BookStockDto.class));
+    }
+
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     @Test
     @DisplayName("Delete a book by id")
@@ -250,10 +409,214 @@ public class BookControllerTest {
         Long bookId = 3L;
 
         //when + then
-        MvcResult result = mockMvc.perform(delete("/api/books/{id}", bookId)
+        MvcResult result = assertStatementCount(sqlStatementCounter, 3,
+                () -> mockMvc.perform(delete("/api/books/{id}", bookId)
                 )
                 .andExpect(status().isNoContent())
+                .andReturn());
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN", "USER"})
+    @Test
+    @DisplayName("Import books from CSV")
+    public void importBooks_CsvWithInvalidRows_UpsertsValidRowsAndReportsErrors()
+            throws Exception {
+        //given
+        String csv = """
+                title,author,isbn,price,description,coverImage,categoryIds
+                Book 2 revised,Author 2,ISBN-2,16.00,New description,cover2.jpg,1;2
+                Imported book,Author 4,ISBN-4,12.00,,cover4.jpg,3
+                Book 5,Author 5,ISBN-5,not a price,,,1
+                Book 6,Author 6,ISBN-6,9.99,,,42
+                """;
+
+        //when
+        MvcResult result = assertStatementCount(sqlStatementCounter, 5,
+                () -> mockMvc.perform(post("/api/books/import")
+                        .content(csv)
+                        .contentType("text/csv")
+                )
+                .andExpect(status().isOk())
+                .andReturn());
+
+        //then
+        BookImportReportDto report = objectMapper.readValue(
+                result.getResponse().getContentAsByteArray(), BookImportReportDto.class);
+        assertEquals(4, report.getRows());
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals(List.of(3, 4), report.getErrors().stream()
+                .map(BookImportErrorDto::getRow)
+                .toList());
+        assertEquals("Can't find categories with ids [42]", report.getErrors().get(1).getMessage());
+
+        MvcResult updatedBookResult = mockMvc.perform(get("/api/books/{id}", 2L))
+                .andExpect(status().isOk())
                 .andReturn();
+        BookDto expectedUpdatedBookDto = new BookDto().setId(2L).setTitle("Book 2 revised")
+                .setAuthor("Author 2").setIsbn("ISBN-2")
+                .setPrice(new BigDecimal("16.00")).setCategoryIds(Set.of(1L, 2L))
+                .setDescription("New description").setCoverImage("cover2.jpg");
+        assertEquals(expectedUpdatedBookDto, objectMapper.readValue(
+                updatedBookResult.getResponse().getContentAsByteArray(), BookDto.class));
+
+        MvcResult searchResult = mockMvc.perform(get("/api/books/search")
+                        .param("titles", "Imported book"))
+                .andExpect(status().isOk())
+                .andReturn();
+        BookSliceDto foundBooks = objectMapper.readValue(
+                searchResult.getResponse().getContentAsByteArray(), BookSliceDto.class);
+        assertEquals(List.of("ISBN-4"), foundBooks.getContent().stream()
+                .map(BookDtoWithoutCategoryIds::getIsbn)
+                .toList());
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN", "USER"})
+    @Test
+    @DisplayName("Import books with a repeated ISBN keeps the last row and reports the others")
+    public void importBooks_RepeatedIsbn_ReportsSupersededRows() throws Exception {
+        //given
+        String csv = """
+                title,author,isbn,price,description,coverImage,categoryIds
+                First draft,Author 4,ISBN-4,10.00,,,1
+                Imported book,Author 4,isbn-4,12.00,,,3
+                Book 5,Author 5,ISBN-5,8.00,,,1
+                """;
+
+        //when
+        MvcResult result = mockMvc.perform(post("/api/books/import")
+                        .content(csv)
+                        .contentType("text/csv")
+                )
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then
+        BookImportReportDto report = objectMapper.readValue(
+                result.getResponse().getContentAsByteArray(), BookImportReportDto.class);
+        assertEquals(3, report.getRows());
+        assertEquals(2, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(1, report.getErrors().get(0).getRow());
+        assertEquals("Superseded by row 2 with the same ISBN",
+                report.getErrors().get(0).getMessage());
+
+        MvcResult searchResult = mockMvc.perform(get("/api/books/search")
+                        .param("titles", "Imported book"))
+                .andExpect(status().isOk())
+                .andReturn();
+        BookSliceDto foundBooks = objectMapper.readValue(
+                searchResult.getResponse().getContentAsByteArray(), BookSliceDto.class);
+        assertEquals(1, foundBooks.getContent().size());
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN", "USER"})
+    @Test
+    @DisplayName("Import books from NDJSON")
+    public void importBooks_Ndjson_CreatesValidBooks() throws Exception {
+        //given
+        String ndjson = """
+                {"title":"Imported book","author":"Author 4","isbn":"ISBN-4","price":12.00,\
+                "categoryIds":[1,3],"stock":7}
+                {"author":"Author 5","isbn":"ISBN-5","price":8.00,"categoryIds":[1]}
+                """;
+
+        //when
+        MvcResult result = assertStatementCount(sqlStatementCounter, 7,
+                () -> mockMvc.perform(post("/api/books/import")
+                        .content(ndjson)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                )
+                .andExpect(status().isOk())
+                .andReturn());
+
+        //then
+        BookImportReportDto report = objectMapper.readValue(
+                result.getResponse().getContentAsByteArray(), BookImportReportDto.class);
+        assertEquals(2, report.getRows());
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals("title must not be blank", report.getErrors().get(0).getMessage());
+
+        MvcResult booksResult = mockMvc.perform(get("/api/books")
+                        .param("page", "0")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andReturn();
+        List<BookDto> books = objectMapper.readValue(
+                booksResult.getResponse().getContentAsByteArray(),
+                new TypeReference<List<BookDto>>() {});
+        assertEquals(4, books.size());
+        assertEquals(Set.of(1L, 3L), books.get(3).getCategoryIds());
+
+        MvcResult stockResult = mockMvc.perform(get("/api/books/{id}/stock",
+                        books.get(3).getId()))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertEquals(7, objectMapper.readValue(stockResult.getResponse().getContentAsByteArray(),
+                BookStockDto.class).getQuantity());
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Export books as NDJSON")
+    public void exportBooks_Ndjson_StreamsAllBooks() throws Exception {
+        //given
+        List<BookDto> expectedBookDtoList = List.of(
+                new BookDto().setId(1L).setTitle("Book 1").setAuthor("Author 1")
+                        .setIsbn("ISBN-1").setPrice(new BigDecimal("10.50"))
+                        .setCategoryIds(Set.of(1L)).setDescription("Description for Book 1")
+                        .setCoverImage("cover1.jpg"),
+                new BookDto().setId(2L).setTitle("Book 2").setAuthor("Author 2")
+                        .setIsbn("ISBN-2").setPrice(new BigDecimal("15.75"))
+                        .setCategoryIds(Set.of(2L)).setDescription("Description for Book 2")
+                        .setCoverImage("cover2.jpg"),
+                new BookDto().setId(3L).setTitle("Book 3").setAuthor("Author 3")
+                        .setIsbn("ISBN-3").setPrice(new BigDecimal("20.00"))
+                        .setCategoryIds(Set.of(3L)).setDescription("Description for Book 3")
+                        .setCoverImage("cover3.jpg"));
+
+        //when
+        MvcResult result = mockMvc.perform(get("/api/books/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+
+        //then
+        List<BookDto> actualBookDtoList = objectMapper.readerFor(BookDto.class)
+                .<BookDto>readValues(result.getResponse().getContentAsByteArray())
+                .readAll();
+        assertEquals(expectedBookDtoList, actualBookDtoList);
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    @DisplayName("Export books as CSV and import them back")
+    public void exportBooks_Csv_CanBeImportedBack() throws Exception {
+        //when
+        MvcResult exportResult = mockMvc.perform(get("/api/books/export")
+                        .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(exportResult))
+                .andExpect(status().isOk());
+        String csv = exportResult.getResponse().getContentAsString();
+
+        MvcResult importResult = mockMvc.perform(post("/api/books/import")
+                        .content(csv)
+                        .contentType("text/csv"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then
+        assertEquals("id,title,author,isbn,price,description,coverImage,categoryIds",
+                csv.lines().findFirst().orElseThrow());
+        BookImportReportDto report = objectMapper.readValue(
+                importResult.getResponse().getContentAsByteArray(), BookImportReportDto.class);
+        assertEquals(3, report.getImported());
+        assertEquals(0, report.getFailed());
     }
 
     private static void teardown(@NotNull DataSource dataSource) {
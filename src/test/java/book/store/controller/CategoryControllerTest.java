@@ -1,6 +1,7 @@
 package book.store.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -10,6 +11,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import book.store.dto.book.BookDtoWithoutCategoryIds;
+import book.store.dto.book.BookSliceDto;
 import book.store.dto.category.CategoryDto;
 import book.store.dto.category.CreateCategoryRequestDto;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -167,11 +169,11 @@ public class CategoryControllerTest {
         }
 
         //then
-        List<BookDtoWithoutCategoryIds> actualBookDtoList = objectMapper.readValue(
-                result.getResponse().getContentAsByteArray(),
-                new TypeReference<List<BookDtoWithoutCategoryIds>>() {});
+        BookSliceDto actualBookDtoSlice = objectMapper.readValue(
+                result.getResponse().getContentAsByteArray(), BookSliceDto.class);
 
-        assertEquals(expectedBookDtoList, actualBookDtoList);
+        assertEquals(expectedBookDtoList, actualBookDtoSlice.getContent());
+        assertFalse(actualBookDtoSlice.isHasNext());
     }
 
     @WithMockUser(username = "admin", roles = "ADMIN")
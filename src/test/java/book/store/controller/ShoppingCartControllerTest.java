@@ -1,9 +1,11 @@
 package book.store.controller;
 
+import static book.store.sql.SqlStatementCountAssertions.assertStatementCount;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -11,13 +13,17 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import book.store.dto.shopping.cart.AddBookToShoppingCartRequestDto;
 import book.store.dto.shopping.cart.ShoppingCartDto;
 import book.store.dto.shopping.cart.UpdateBookQuantityRequestDto;
+import book.store.dto.shopping.cart.UpdateCartItemsRequestDto;
 import book.store.dto.shopping.cart.item.CartItemDto;
+import book.store.dto.shopping.cart.item.CartItemOperationDto;
 import book.store.model.Role;
 import book.store.model.User;
+import book.store.sql.SqlStatementCounter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import javax.sql.DataSource;
 import org.jetbrains.annotations.NotNull;
@@ -30,11 +36,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.init.ScriptUtils;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -45,6 +51,10 @@ public class ShoppingCartControllerTest {
     protected static MockMvc mockMvc;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     @BeforeAll
     static void beforeAll(@Autowired DataSource dataSource,
@@ -103,10 +113,11 @@ public class ShoppingCartControllerTest {
         expectedShoppingCartDto.setCartItems(cartItemDtoSet);
 
         //when+then
-        MvcResult result = mockMvc
+        MvcResult result = assertStatementCount(sqlStatementCounter, 1,
+                () -> mockMvc
                 .perform(get("/api/cart"))
                 .andExpect(status().isOk())
-                .andReturn();
+                .andReturn());
 
         //then
         ShoppingCartDto actualShoppingCartDto = objectMapper.readValue(
@@ -127,42 +138,120 @@ public class ShoppingCartControllerTest {
         CartItemDto defaultModelCartItemDto = createDefaultModelCartItemDtoWithId2();
         Set<CartItemDto> cartItemDtoSet = new HashSet<>();
         cartItemDtoSet.add(defaultModelCartItemDto);
+        expectedShoppingCartDto.setCartItems(cartItemDtoSet);
+
+        AddBookToShoppingCartRequestDto addBookToShoppingCartRequestDto =
+                new AddBookToShoppingCartRequestDto()
+                        .setBookId(3L)
+                        .setQuantity(10);
+        String jsonRequest = objectMapper.writeValueAsString(addBookToShoppingCartRequestDto);
+
+        //when
+        MvcResult result = assertStatementCount(sqlStatementCounter, 4,
+                () -> mockMvc
+                .perform(post("/api/cart")
+                        .content(jsonRequest)
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andReturn());
+
+        //then
+        ShoppingCartDto actualShoppingCartDto = objectMapper.readValue(
+                result.getResponse().getContentAsByteArray(), ShoppingCartDto.class);
+        Long newCartItemId = actualShoppingCartDto.getCartItems().stream()
+                .filter(cartItemDto -> cartItemDto.getBookId().equals(3L))
+                .findFirst()
+                .orElseThrow()
+                .getId();
         cartItemDtoSet.add(new CartItemDto()
-                .setId(4L)
+                .setId(newCartItemId)
                 .setBookId(3L)
                 .setBookTitle("Book 3")
                 .setQuantity(10));
-        expectedShoppingCartDto.setCartItems(cartItemDtoSet);
+
+        assertEquals(expectedShoppingCartDto, actualShoppingCartDto);
+
+    }
+
+    @Test
+    @DisplayName("Repeat adding a book to the shopping cart with the same Idempotency-Key")
+    public void addItemToShoppingCart_RepeatedIdempotencyKey_ReturnsFirstShoppingCartDto()
+            throws Exception {
+        //given
+        User user = createUserWithId2();
+        mockAuthentication(user);
 
         AddBookToShoppingCartRequestDto addBookToShoppingCartRequestDto =
                 new AddBookToShoppingCartRequestDto()
                         .setBookId(3L)
                         .setQuantity(10);
         String jsonRequest = objectMapper.writeValueAsString(addBookToShoppingCartRequestDto);
+        MvcResult firstResult = mockMvc
+                .perform(post("/api/cart")
+                        .header("Idempotency-Key", "add-book-3")
+                        .content(jsonRequest)
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andReturn();
 
         //when
-        MvcResult result = mockMvc
+        MvcResult result = assertStatementCount(sqlStatementCounter, 3,
+                () -> mockMvc
                 .perform(post("/api/cart")
+                        .header("Idempotency-Key", "add-book-3")
                         .content(jsonRequest)
                         .contentType(MediaType.APPLICATION_JSON)
                 )
                 .andExpect(status().isOk())
-                .andReturn();
+                .andReturn());
 
         //then
+        ShoppingCartDto expectedShoppingCartDto = objectMapper.readValue(
+                firstResult.getResponse().getContentAsByteArray(), ShoppingCartDto.class);
         ShoppingCartDto actualShoppingCartDto = objectMapper.readValue(
                 result.getResponse().getContentAsByteArray(), ShoppingCartDto.class);
 
         assertEquals(expectedShoppingCartDto, actualShoppingCartDto);
+    }
+
+    @Test
+    @DisplayName("Reuse an Idempotency-Key for a different book")
+    public void addItemToShoppingCart_IdempotencyKeyOfAnotherRequest_ReturnsUnprocessableEntity()
+            throws Exception {
+        //given
+        User user = createUserWithId2();
+        mockAuthentication(user);
 
+        String firstJsonRequest = objectMapper.writeValueAsString(
+                new AddBookToShoppingCartRequestDto()
+                        .setBookId(3L)
+                        .setQuantity(10));
+        mockMvc.perform(post("/api/cart")
+                        .header("Idempotency-Key", "add-book")
+                        .content(firstJsonRequest)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        String jsonRequest = objectMapper.writeValueAsString(
+                new AddBookToShoppingCartRequestDto()
+                        .setBookId(1L)
+                        .setQuantity(10));
+
+        //when+then
+        mockMvc.perform(post("/api/cart")
+                        .header("Idempotency-Key", "add-book")
+                        .content(jsonRequest)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnprocessableEntity());
     }
 
-    @WithMockUser(username = "user")
     @Test
     @DisplayName("Update quantity of a book in the shopping cart")
     public void updateItemQuantity_ValidQuantityAndCartItemId_ReturnsValidShoppingCartDto()
             throws Exception {
         //given
+        mockAuthentication(createUserWithId2());
         Long cartItemId = 2L;
         int newQuantity = 100;
         UpdateBookQuantityRequestDto updateBookQuantityRequestDto =
@@ -178,13 +267,14 @@ public class ShoppingCartControllerTest {
         expectedShoppingCartDto.setCartItems(cartItemDtoSet);
 
         //when
-        MvcResult result = mockMvc
+        MvcResult result = assertStatementCount(sqlStatementCounter, 3,
+                () -> mockMvc
                 .perform(put("/api/cart/cart-items/{cartItemId}", cartItemId)
                         .content(jsonRequest)
                         .contentType(MediaType.APPLICATION_JSON)
                 )
                 .andExpect(status().isOk())
-                .andReturn();
+                .andReturn());
 
         //then
         ShoppingCartDto actualShoppingCartDto = objectMapper.readValue(
@@ -193,18 +283,115 @@ public class ShoppingCartControllerTest {
         assertEquals(expectedShoppingCartDto, actualShoppingCartDto);
     }
 
-    @WithMockUser(username = "user")
+    @Test
+    @DisplayName("Add and remove many books in the shopping cart in one request")
+    public void updateItems_ValidOperations_ReturnsValidShoppingCartDto() throws Exception {
+        //given
+        User user = createUserWithId2();
+        mockAuthentication(user);
+
+        UpdateCartItemsRequestDto updateCartItemsRequestDto = new UpdateCartItemsRequestDto()
+                .setOperations(List.of(
+                        new CartItemOperationDto()
+                                .setType(CartItemOperationDto.Type.REMOVE)
+                                .setBookId(2L),
+                        new CartItemOperationDto()
+                                .setType(CartItemOperationDto.Type.ADD)
+                                .setBookId(1L)
+                                .setQuantity(1),
+                        new CartItemOperationDto()
+                                .setType(CartItemOperationDto.Type.ADD)
+                                .setBookId(3L)
+                                .setQuantity(3)));
+        String jsonRequest = objectMapper.writeValueAsString(updateCartItemsRequestDto);
+
+        //when
+        MvcResult result = assertStatementCount(sqlStatementCounter, 5,
+                () -> mockMvc
+                .perform(patch("/api/cart/items")
+                        .content(jsonRequest)
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andReturn());
+
+        //then
+        ShoppingCartDto actualShoppingCartDto = objectMapper.readValue(
+                result.getResponse().getContentAsByteArray(), ShoppingCartDto.class);
+        Set<CartItemDto> actualCartItems = new HashSet<>();
+        actualShoppingCartDto.getCartItems().forEach(cartItemDto -> actualCartItems.add(
+                new CartItemDto()
+                        .setBookId(cartItemDto.getBookId())
+                        .setBookTitle(cartItemDto.getBookTitle())
+                        .setQuantity(cartItemDto.getQuantity())));
+        Set<CartItemDto> expectedCartItems = Set.of(
+                new CartItemDto()
+                        .setBookId(1L)
+                        .setBookTitle("Book 1")
+                        .setQuantity(1),
+                new CartItemDto()
+                        .setBookId(3L)
+                        .setBookTitle("Book 3")
+                        .setQuantity(3));
+
+        assertEquals(expectedCartItems, actualCartItems);
+    }
+
+    @Test
+    @DisplayName("Update quantity of a book in another user's shopping cart")
+    public void updateItemQuantity_CartItemIdOfAnotherUser_ReturnsBadRequest() throws Exception {
+        //given
+        mockAuthentication(createUserWithId2());
+        Long cartItemId = 3L;
+        String jsonRequest = objectMapper.writeValueAsString(
+                new UpdateBookQuantityRequestDto().setQuantity(100));
+
+        //when+then
+        mockMvc.perform(put("/api/cart/cart-items/{cartItemId}", cartItemId)
+                        .content(jsonRequest)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Remove a book from the shopping cart")
     public void deleteItemFromShoppingCart_ValidShoppingCartId_Success() throws Exception {
         //given
+        mockAuthentication(createUserWithId2());
         Long cartItemId = 2L;
 
         //when+then
-        MvcResult result = mockMvc
+        MvcResult result = assertStatementCount(sqlStatementCounter, 3,
+                () -> mockMvc
                 .perform(delete("/api/cart/cart-items/{cartItemId}", cartItemId))
                 .andExpect(status().isNoContent())
-                .andReturn();
+                .andReturn());
+    }
+
+    @Test
+    @DisplayName("Add a removed book back to the shopping cart")
+    public void addItemToShoppingCart_RemovedBook_KeepsRemovedItemSoftDeleted()
+            throws Exception {
+        //given
+        mockAuthentication(createUserWithId2());
+        mockMvc.perform(delete("/api/cart/cart-items/{cartItemId}", 2L))
+                .andExpect(status().isNoContent());
+        String jsonRequest = objectMapper.writeValueAsString(
+                new AddBookToShoppingCartRequestDto()
+                        .setBookId(2L)
+                        .setQuantity(5));
+
+        //when
+        mockMvc.perform(post("/api/cart")
+                        .content(jsonRequest)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        //then
+        List<Boolean> deletedFlags = jdbcTemplate.queryForList("SELECT is_deleted "
+                + "FROM cart_items WHERE shopping_cart_id = 2 AND book_id = 2 ORDER BY id",
+                Boolean.class);
+        assertEquals(List.of(true, false), deletedFlags);
     }
 
     private static void teardown(@NotNull DataSource dataSource) {
@@ -0,0 +1,180 @@
+package book.store.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import book.store.search.BookSearchIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+@Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class LoadTest {
+    private static final int BATCH_SIZE = 1000;
+    private static final int PAGE_SIZE = 20;
+    private static final int STOCK_PER_SHARD = 1000;
+    private static final String PASSWORD = "load-test-password";
+    private static final String LOGIN = "POST /auth/login";
+    private static final String BROWSE_BOOKS = "GET /api/books";
+    private static final String ADD_TO_CART = "POST /api/cart";
+    private static final String PLACE_ORDER = "POST /api/orders";
+
+    @LocalServerPort
+    private int port;
+    @Value("${load-test.books}")
+    private int books;
+    @Value("${load-test.users}")
+    private int users;
+    @Value("${load-test.virtual-users}")
+    private int virtualUsers;
+    @Value("${load-test.iterations}")
+    private int iterations;
+    @Value("${inventory.stock-shards}")
+    private int stockShards;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+    @Autowired
+    private ObjectMapper objectMapper;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final LoadTestReport report = new LoadTestReport();
+
+    @BeforeAll
+    public void seed() {
+        seedBooks();
+        seedUsers();
+        bookSearchIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Measure latency and throughput of login, browse, add to cart and place order")
+    public void placeOrders_ConcurrentVirtualUsers_ReportsLatencyAndThroughput()
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(virtualUsers);
+        List<Future<?>> virtualUserRuns = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int virtualUser = 0; virtualUser < virtualUsers; virtualUser++) {
+            int firstUser = virtualUser;
+            virtualUserRuns.add(executor.submit(() -> runVirtualUser(firstUser)));
+        }
+        for (Future<?> virtualUserRun : virtualUserRuns) {
+            virtualUserRun.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        System.out.printf("%nLoad test: %d books, %d users, %d virtual users x %d iterations%n%s",
+                books, users, virtualUsers, iterations, report.format(elapsed));
+        assertEquals(0, report.getErrorCount());
+    }
+
+    private Void runVirtualUser(int firstUser) throws Exception {
+        int usersPerVirtualUser = Math.max(users, virtualUsers) / virtualUsers;
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            int user = firstUser + iteration % usersPerVirtualUser * virtualUsers;
+            JsonNode login = send(LOGIN, post("/auth/login", null,
+                    Map.of("email", email(user), "password", PASSWORD)));
+            String token = login == null ? null : login.get("token").asText();
+            int page = ThreadLocalRandom.current().nextInt(Math.max(1, books / PAGE_SIZE));
+            send(BROWSE_BOOKS, authorized(token, "/api/books?page=" + page + "&size=" + PAGE_SIZE)
+                    .GET()
+                    .build());
+            long bookId = ThreadLocalRandom.current().nextLong(1, books + 1);
+            send(ADD_TO_CART, post("/api/cart", token,
+                    Map.of("bookId", bookId, "quantity", 1)));
+            send(PLACE_ORDER, post("/api/orders", token,
+                    Map.of("shippingAddress", "Kyiv, Khreshchatyk 1")));
+        }
+        return null;
+    }
+
+    private JsonNode send(String endpoint, HttpRequest request) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(request,
+                HttpResponse.BodyHandlers.ofString());
+        boolean successful = response.statusCode() / 100 == 2;
+        report.record(endpoint, System.nanoTime() - start, successful);
+        return successful && !response.body().isEmpty()
+                ? objectMapper.readTree(response.body())
+                : null;
+    }
+
+    private HttpRequest post(String path, String token, Object body) throws Exception {
+        return authorized(token, path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(String token, String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + path));
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    private void seedBooks() {
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int book = 1; book <= books; book++) {
+            rows.add(new Object[]{"Book " + book, "Author " + book % 1000,
+                    "LOAD-" + book, BigDecimal.valueOf(5 + book % 50), "Description " + book});
+            if (rows.size() == BATCH_SIZE || book == books) {
+                jdbcTemplate.batchUpdate("INSERT INTO books "
+                        + "(title, author, isbn, price, description) VALUES (?, ?, ?, ?, ?)",
+                        rows);
+                rows.clear();
+            }
+        }
+        for (int shard = 0; shard < stockShards; shard++) {
+            jdbcTemplate.update("INSERT INTO book_stock (book_id, shard, quantity) "
+                    + "SELECT id, ?, ? FROM books WHERE isbn LIKE 'LOAD-%'",
+                    shard, STOCK_PER_SHARD);
+        }
+    }
+
+    private void seedUsers() {
+        String encodedPassword = new BCryptPasswordEncoder().encode(PASSWORD);
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        int userCount = Math.max(users, virtualUsers);
+        for (int user = 0; user < userCount; user++) {
+            rows.add(new Object[]{email(user), encodedPassword, "Load", "User " + user});
+            if (rows.size() == BATCH_SIZE || user == userCount - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO users "
+                        + "(email, password, first_name, last_name) VALUES (?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        jdbcTemplate.update("INSERT INTO users_roles (user_id, role_id) "
+                + "SELECT u.id, r.id FROM users u, roles r "
+                + "WHERE u.email LIKE 'load-user-%' AND r.role_name = 'ROLE_USER'");
+        jdbcTemplate.update("INSERT INTO shopping_carts (user_id) "
+                + "SELECT id FROM users WHERE email LIKE 'load-user-%'");
+    }
+
+    private String email(int user) {
+        return "load-user-" + user + "@example.com";
+    }
+}
@@ -0,0 +1,66 @@
+package book.store.load;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LoadTestReport {
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, Queue<Long>> latencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long latencyNanos, boolean successful) {
+        latencies.computeIfAbsent(endpoint, key -> new ConcurrentLinkedQueue<>())
+                .add(latencyNanos);
+        if (!successful) {
+            errors.computeIfAbsent(endpoint, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    public long getErrorCount() {
+        return errors.values().stream()
+                .mapToLong(AtomicLong::get)
+                .sum();
+    }
+
+    public String format(long elapsedNanos) {
+        StringBuilder report = new StringBuilder(String.format("%-22s %8s %7s %9s %9s %9s %10s%n",
+                "endpoint", "requests", "errors", "p50 ms", "p95 ms", "p99 ms", "req/s"));
+        latencies.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    long[] sorted = entry.getValue().stream()
+                            .mapToLong(Long::longValue)
+                            .sorted()
+                            .toArray();
+                    AtomicLong endpointErrors = errors.get(entry.getKey());
+                    report.append(String.format("%-22s %8d %7d %9.2f %9.2f %9.2f %10.1f%n",
+                            entry.getKey(),
+                            sorted.length,
+                            endpointErrors == null ? 0 : endpointErrors.get(),
+                            percentile(sorted, 50) / NANOS_PER_MILLI,
+                            percentile(sorted, 95) / NANOS_PER_MILLI,
+                            percentile(sorted, 99) / NANOS_PER_MILLI,
+                            sorted.length * NANOS_PER_SECOND / elapsedNanos));
+                });
+        long total = latencies.values().stream()
+                .mapToLong(Queue::size)
+                .sum();
+        report.append(String.format("total: %d requests in %.1f s, %.1f req/s%n", total,
+                elapsedNanos / NANOS_PER_SECOND, total * NANOS_PER_SECOND / elapsedNanos));
+        return report.toString();
+    }
+
+    private long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
@@ -0,0 +1,138 @@
+package book.store.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+import book.store.model.OutboxEvent;
+import book.store.repository.outbox.OutboxEventRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayTest {
+    private static final int BATCH_SIZE = 100;
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private OutboxEventPublisher outboxEventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxEventRepository, outboxEventPublisher,
+                new TransactionTemplate(transactionManager), new ThreadPoolTaskSchedulerBuilder());
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(outboxRelay, "maxAttempts", MAX_ATTEMPTS);
+    }
+
+    @Test
+    @DisplayName("Verify start() relays on the scheduler until stop()")
+    public void start_ScheduledRelay_PollsOutboxUntilStopped() {
+        //given
+        ReflectionTestUtils.setField(outboxRelay, "interval", 10L);
+
+        //when
+        outboxRelay.start();
+
+        //then
+        verify(outboxEventRepository, Mockito.timeout(1000).atLeast(2))
+                .findAllByDeadLetteredAtIsNullOrderByCreatedAtAscIdAsc(any());
+        outboxRelay.stop();
+    }
+
+    @Test
+    @DisplayName("Verify relay() publishes the rest of a batch when one event fails")
+    public void relay_FailingEvent_PublishesOtherEventsAndCountsAttempt() {
+        //given
+        OutboxEvent failingEvent = createEvent(1L, 0);
+        OutboxEvent event = createEvent(2L, 0);
+        Mockito.when(outboxEventRepository.findAllByDeadLetteredAtIsNullOrderByCreatedAtAscIdAsc(
+                any())).thenReturn(List.of(failingEvent, event));
+        doThrow(new IllegalStateException("Broker rejected the event"))
+                .when(outboxEventPublisher).publish(List.of(failingEvent, event));
+        doThrow(new IllegalStateException("Broker rejected the event"))
+                .when(outboxEventPublisher).publish(List.of(failingEvent));
+
+        //when
+        outboxRelay.relay();
+
+        //then
+        verify(outboxEventRepository, Mockito.times(1)).delete(event);
+        verify(outboxEventRepository, Mockito.never()).delete(failingEvent);
+        assertEquals(1, failingEvent.getAttempts());
+        assertEquals("Broker rejected the event", failingEvent.getLastError());
+        assertNull(failingEvent.getDeadLetteredAt());
+    }
+
+    @Test
+    @DisplayName("Verify relay() holds back later events of an aggregate whose event failed")
+    public void relay_FailingEvent_HoldsBackLaterEventsOfSameAggregate() {
+        //given
+        OutboxEvent failingEvent = createEvent(1L, 0);
+        OutboxEvent laterEvent = createEvent(2L, 0).setAggregateId(failingEvent.getAggregateId());
+        OutboxEvent otherEvent = createEvent(3L, 0);
+        Mockito.when(outboxEventRepository.findAllByDeadLetteredAtIsNullOrderByCreatedAtAscIdAsc(
+                any())).thenReturn(List.of(failingEvent, laterEvent, otherEvent));
+        doThrow(new IllegalStateException("Broker rejected the event"))
+                .when(outboxEventPublisher).publish(List.of(failingEvent, laterEvent, otherEvent));
+        doThrow(new IllegalStateException("Broker rejected the event"))
+                .when(outboxEventPublisher).publish(List.of(failingEvent));
+
+        //when
+        outboxRelay.relay();
+
+        //then
+        verify(outboxEventPublisher, Mockito.never()).publish(List.of(laterEvent));
+        verify(outboxEventRepository, Mockito.never()).delete(laterEvent);
+        verify(outboxEventRepository, Mockito.times(1)).delete(otherEvent);
+        assertEquals(0, laterEvent.getAttempts());
+    }
+
+    @Test
+    @DisplayName("Verify relay() dead-letters an event that keeps failing")
+    public void relay_EventFailingTooOften_DeadLettersEvent() {
+        //given
+        OutboxEvent failingEvent = createEvent(1L, MAX_ATTEMPTS - 1);
+        Mockito.when(outboxEventRepository.findAllByDeadLetteredAtIsNullOrderByCreatedAtAscIdAsc(
+                any())).thenReturn(List.of(failingEvent));
+        doThrow(new IllegalStateException("Broker rejected the event"))
+                .when(outboxEventPublisher).publish(List.of(failingEvent));
+
+        //when
+        outboxRelay.relay();
+
+        //then
+        assertEquals(MAX_ATTEMPTS, failingEvent.getAttempts());
+        assertNotNull(failingEvent.getDeadLetteredAt());
+        verify(outboxEventRepository, Mockito.never()).delete(failingEvent);
+    }
+
+    private OutboxEvent createEvent(Long id, int attempts) {
+        return new OutboxEvent()
+                .setId(id)
+                .setType(OutboxEvent.Type.ORDER_PLACED)
+                .setAggregateId(id)
+                .setPayload("{}")
+                .setCreatedAt(LocalDateTime.now())
+                .setAttempts(attempts);
+    }
+}
@@ -0,0 +1,65 @@
+package book.store.replica;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import book.store.model.Order;
+import book.store.repository.order.OrderRepository;
+import book.store.search.BookSearchIndex;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+
+@SpringBootTest(properties = "datasource.replica.url=jdbc:h2:mem:empty-replica;DB_CLOSE_DELAY=-1")
+public class ReadFromPrimaryContextTest {
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+    @MockBean
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Test
+    @DisplayName("Read-only order queries go to the replica")
+    public void findOrderIdsByUserId_ReplicaConfigured_ReadsFromReplica() {
+        //when
+        assertThrows(DataAccessException.class,
+                () -> orderRepository.findOrderIdsByUserId(1L, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    @DisplayName("The search index is rebuilt from the primary")
+    public void rebuild_ReplicaConfigured_ReadsFromPrimary() {
+        //when
+        bookSearchIndex.rebuild();
+
+        //then
+        assertTrue(bookSearchIndex.isReady());
+    }
+
+    @Test
+    @DisplayName("Claimed placements are read back from the primary outside a request")
+    public void findClaimedPlacementIds_ReplicaConfigured_ReadsFromPrimary() {
+        //given
+        LocalDateTime now = LocalDateTime.now();
+
+        //when
+        orderRepository.claimExpiredPlacements(Order.Status.PROCESSING, "owner", now, now);
+
+        //then
+        assertTrue(orderRepository.findClaimedPlacementIds(Order.Status.PROCESSING, "owner", now)
+                .isEmpty());
+    }
+
+    @Test
+    @DisplayName("Order status polls read from the primary")
+    public void findByIdAndUserId_ReplicaConfigured_ReadsFromPrimary() {
+        //when
+        assertTrue(orderRepository.findByIdAndUserId(1L, 1L).isEmpty());
+    }
+}
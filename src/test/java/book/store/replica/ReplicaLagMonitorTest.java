@@ -0,0 +1,104 @@
+package book.store.replica;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaLagMonitorTest {
+    private static final long MAX_LAG_SECONDS = 5;
+
+    @Mock
+    private JdbcTemplate replicaJdbcTemplate;
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @BeforeEach
+    void setUp() {
+        replicaRoutingDataSource = new ReplicaRoutingDataSource(mock(DataSource.class),
+                mock(DataSource.class));
+        replicaLagMonitor = new ReplicaLagMonitor(replicaJdbcTemplate, replicaRoutingDataSource,
+                new ThreadPoolTaskSchedulerBuilder(), MAX_LAG_SECONDS, 1000);
+    }
+
+    @Test
+    @DisplayName("Replica within the allowed lag keeps serving reads")
+    public void check_LagWithinLimit_KeepsReplicaAvailable() {
+        //given
+        givenLags(MAX_LAG_SECONDS);
+
+        //when
+        replicaLagMonitor.check();
+
+        //then
+        assertTrue(replicaRoutingDataSource.isReplicaAvailable());
+    }
+
+    @Test
+    @DisplayName("Replica over the allowed lag stops serving reads until it catches up")
+    public void check_LagOverLimit_MarksReplicaUnavailableUntilCaughtUp() {
+        //given
+        givenLags(MAX_LAG_SECONDS + 1);
+
+        //when
+        replicaLagMonitor.check();
+        boolean availableWhileLagging = replicaRoutingDataSource.isReplicaAvailable();
+        givenLags(0L);
+        replicaLagMonitor.check();
+
+        //then
+        assertFalse(availableWhileLagging);
+        assertTrue(replicaRoutingDataSource.isReplicaAvailable());
+    }
+
+    @Test
+    @DisplayName("Replica with stopped replication stops serving reads")
+    public void check_ReplicationStopped_MarksReplicaUnavailable() {
+        //given
+        givenLags((Long) null);
+
+        //when
+        replicaLagMonitor.check();
+
+        //then
+        assertFalse(replicaRoutingDataSource.isReplicaAvailable());
+    }
+
+    @Test
+    @DisplayName("Replica whose status can't be read stops serving reads")
+    public void check_StatusUnreadable_MarksReplicaUnavailable() {
+        //given
+        when(replicaJdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<Long>>any()))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        //when
+        replicaLagMonitor.check();
+
+        //then
+        assertFalse(replicaRoutingDataSource.isReplicaAvailable());
+    }
+
+    private void givenLags(Long... lags) {
+        List<Long> rows = Arrays.asList(lags);
+        doReturn(rows).when(replicaJdbcTemplate)
+                .query(anyString(), ArgumentMatchers.<RowMapper<Long>>any());
+    }
+}
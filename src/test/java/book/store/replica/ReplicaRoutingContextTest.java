@@ -0,0 +1,85 @@
+package book.store.replica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import book.store.model.Book;
+import book.store.model.Category;
+import book.store.repository.book.BookRepository;
+import book.store.repository.category.CategoryRepository;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+
+@SpringBootTest(properties = {
+        "datasource.replica.url=${spring.datasource.url}",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true"
+})
+public class ReplicaRoutingContextTest {
+    private static final Long BOOK_ID = 1L;
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private SessionFactory sessionFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @MockBean
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Test
+    @DisplayName("Reads and writes work with a replica configured")
+    public void save_ReplicaConfigured_IsReadBack() throws SQLException {
+        //given
+        Category category = new Category()
+                .setName("Replicated category")
+                .setDescription("Written to the primary");
+
+        //when
+        Category savedCategory = categoryRepository.save(category);
+
+        //then
+        assertTrue(dataSource.isWrapperFor(LazyConnectionDataSourceProxy.class));
+        assertTrue(categoryRepository.findAllIds().contains(savedCategory.getId()));
+        assertEquals("Replicated category",
+                categoryRepository.findById(savedCategory.getId()).orElseThrow().getName());
+        categoryRepository.deleteById(savedCategory.getId());
+    }
+
+    @Test
+    @Sql(scripts = {"classpath:database/categories/add-categories-to-categories-table.sql",
+            "classpath:database/book/add-books-to-books-table.sql"})
+    @Sql(scripts = {"classpath:database/categories/delete-categories-from-categories-table.sql",
+            "classpath:database/book/delete-books-from-books-table.sql"},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @DisplayName("Entities read from the replica aren't put into the second-level cache")
+    public void findById_ReadFromReplica_IsNotCached() {
+        //given
+        RequestContextHolder.resetRequestAttributes();
+        sessionFactory.getCache().evictAllRegions();
+
+        //when
+        bookRepository.findById(BOOK_ID);
+        boolean cachedFromReplica = sessionFactory.getCache().containsEntity(Book.class, BOOK_ID);
+        transactionTemplate.executeWithoutResult(status -> bookRepository.findById(BOOK_ID));
+
+        //then
+        assertFalse(cachedFromReplica);
+        assertTrue(sessionFactory.getCache().containsEntity(Book.class, BOOK_ID));
+        sessionFactory.getCache().evictAllRegions();
+    }
+}
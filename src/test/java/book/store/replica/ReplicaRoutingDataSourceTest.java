@@ -0,0 +1,187 @@
+package book.store.replica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public class ReplicaRoutingDataSourceTest {
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        init(createDatabase(PRIMARY), createDatabase(REPLICA));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions go to the replica")
+    public void getConnection_ReadOnlyTransaction_UsesReplica() {
+        //when
+        String database = readOnlyTransaction.execute(status -> currentDatabase());
+
+        //then
+        assertEquals(REPLICA, database);
+    }
+
+    @Test
+    @DisplayName("Write transactions and work outside transactions go to the primary")
+    public void getConnection_WriteTransaction_UsesPrimary() {
+        //when
+        String writeDatabase = writeTransaction.execute(status -> currentDatabase());
+        String nonTransactionalDatabase = currentDatabase();
+
+        //then
+        assertEquals(PRIMARY, writeDatabase);
+        assertEquals(PRIMARY, nonTransactionalDatabase);
+    }
+
+    @Test
+    @DisplayName("Reads after a write in the same request stay on the primary")
+    public void getConnection_ReadOnlyTransactionAfterWriteInRequest_UsesPrimary() {
+        //given
+        bindRequest();
+        String beforeWrite = readOnlyTransaction.execute(status -> currentDatabase());
+        writeTransaction.execute(status -> currentDatabase());
+
+        //when
+        String afterWrite = readOnlyTransaction.execute(status -> currentDatabase());
+        bindRequest();
+        String nextRequest = readOnlyTransaction.execute(status -> currentDatabase());
+
+        //then
+        assertEquals(REPLICA, beforeWrite);
+        assertEquals(PRIMARY, afterWrite);
+        assertEquals(REPLICA, nextRequest);
+    }
+
+    @Test
+    @DisplayName("Writes outside a request don't pin later reads to the primary")
+    public void getConnection_ReadOnlyTransactionAfterWriteOutsideRequest_UsesReplica() {
+        //given
+        writeTransaction.execute(status -> currentDatabase());
+
+        //when
+        String database = readOnlyTransaction.execute(status -> currentDatabase());
+
+        //then
+        assertEquals(REPLICA, database);
+    }
+
+    @Test
+    @DisplayName("Reads marked to use the primary don't pin the request to it")
+    public void getConnection_ReadFromPrimary_UsesPrimaryWithoutPinningRequest()
+            throws Throwable {
+        //given
+        bindRequest();
+
+        //when
+        String hintedDatabase = ReplicaRoutingDataSource.readFromPrimary(
+                () -> readOnlyTransaction.execute(status -> currentDatabase()));
+        String nextDatabase = readOnlyTransaction.execute(status -> currentDatabase());
+
+        //then
+        assertEquals(PRIMARY, hintedDatabase);
+        assertEquals(REPLICA, nextDatabase);
+    }
+
+    @Test
+    @DisplayName("Connections opened with credentials are routed like the others")
+    public void getConnectionWithCredentials_ReadOnlyTransaction_UsesReplica() {
+        //when
+        String database = readOnlyTransaction.execute(status -> {
+            try (Connection connection = replicaRoutingDataSource.getConnection("", "")) {
+                return new JdbcTemplate(new SingleConnectionDataSource(connection, true))
+                        .queryForObject("SELECT name FROM node", String.class);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        //then
+        assertEquals(REPLICA, database);
+    }
+
+    @Test
+    @DisplayName("Read-only transactions go to the primary while the replica lags")
+    public void getConnection_ReplicaUnavailable_UsesPrimary() {
+        //given
+        replicaRoutingDataSource.setReplicaAvailable(false);
+
+        //when
+        String database = readOnlyTransaction.execute(status -> currentDatabase());
+
+        //then
+        assertEquals(PRIMARY, database);
+    }
+
+    @Test
+    @DisplayName("Read-only transactions fall back to the primary when the replica is down")
+    public void getConnection_ReplicaDown_UsesPrimaryAndMarksReplicaUnavailable() {
+        //given
+        init(createDatabase(PRIMARY), new DriverManagerDataSource(
+                "jdbc:h2:mem:missing-replica;IFEXISTS=TRUE"));
+
+        //when
+        String database = readOnlyTransaction.execute(status -> currentDatabase());
+
+        //then
+        assertEquals(PRIMARY, database);
+        assertFalse(replicaRoutingDataSource.isReplicaAvailable());
+    }
+
+    private void init(DataSource primary, DataSource replica) {
+        replicaRoutingDataSource = new ReplicaRoutingDataSource(primary, replica);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager =
+                new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    private DataSource createDatabase(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(16))");
+        template.update("DELETE FROM node");
+        template.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private void bindRequest() {
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+}
@@ -1,6 +1,7 @@
 package book.store.repository;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import book.store.model.Book;
 import book.store.model.Category;
@@ -18,6 +19,8 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.jdbc.Sql;
 
 @DataJpaTest
@@ -69,18 +72,39 @@ public class BookRepositoryTest {
         assertEquals(expectedBook, actualAllBooks2.stream().toList().get(0));
     }
 
+    @Test
+    @DisplayName("Verify findAllBooks() method keeps the requested sort order")
+    public void findAllBooks_SortedPageable_ReturnsSortedBookPage() {
+        //given
+        Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "title"));
+
+        //when
+        Page<Book> actualAllBooks = bookRepository.findAllBooks(pageable);
+
+        //then
+        assertEquals(List.of(3L, 2L), actualAllBooks.stream()
+                .map(Book::getId)
+                .toList());
+        assertEquals(3, actualAllBooks.getTotalElements());
+        assertEquals(1, actualAllBooks.getContent().get(0).getCategories().size());
+    }
+
     @Test
     @DisplayName("Verify findBooksByCategoryId() method works")
-    public void findBooksByCategoryId_ValidAndInvalidCategoryId_ReturnsListOfBooks() {
+    public void findBooksByCategoryId_ValidAndInvalidCategoryId_ReturnsSliceOfBooks() {
+        //given
+        Pageable pageable = PageRequest.of(0, 10);
+
         //when
-        List<Book> booksByCategoryId1 = bookRepository.findBooksByCategoryId(1L);
-        List<Book> booksByCategoryId3 = bookRepository.findBooksByCategoryId(3L);
-        List<Book> booksByCategoryId4 = bookRepository.findBooksByCategoryId(4L);
+        Slice<Book> booksByCategoryId1 = bookRepository.findBooksByCategoryId(1L, pageable);
+        Slice<Book> booksByCategoryId3 = bookRepository.findBooksByCategoryId(3L, pageable);
+        Slice<Book> booksByCategoryId4 = bookRepository.findBooksByCategoryId(4L, pageable);
 
         //then
-        assertEquals(1, booksByCategoryId1.size());
-        assertEquals(1, booksByCategoryId3.size());
-        assertEquals(0, booksByCategoryId4.size());
+        assertEquals(1, booksByCategoryId1.getContent().size());
+        assertEquals(1, booksByCategoryId3.getContent().size());
+        assertEquals(0, booksByCategoryId4.getContent().size());
+        assertFalse(booksByCategoryId1.hasNext());
     }
 
     private Category createModelCategory2() {
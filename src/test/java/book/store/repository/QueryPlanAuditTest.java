@@ -0,0 +1,489 @@
+package book.store.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import book.store.dto.book.BookSearchParametersDto;
+import book.store.model.Book;
+import book.store.model.Category;
+import book.store.model.Order;
+import book.store.model.OutboxEvent;
+import book.store.model.Role;
+import book.store.repository.book.BookExportRepository;
+import book.store.repository.book.BookImportRepository;
+import book.store.repository.book.BookRepository;
+import book.store.repository.book.BookSpecificationBuilder;
+import book.store.repository.book.BookStockRepository;
+import book.store.repository.book.BookStockRepository.ShardQuantity;
+import book.store.repository.category.CategoryRepository;
+import book.store.repository.idempotency.IdempotencyKeyRepository;
+import book.store.repository.order.OrderRepository;
+import book.store.repository.order.item.OrderItemRepository;
+import book.store.repository.outbox.OutboxEventRepository;
+import book.store.repository.role.RoleRepository;
+import book.store.repository.shopping.cart.ShoppingCartRepository;
+import book.store.repository.shopping.cart.item.CartItemRepository;
+import book.store.repository.user.UserRepository;
+import book.store.sql.StatementRecorder;
+import book.store.sql.StatementRecorder.RecordedStatement;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class QueryPlanAuditTest {
+    private static final String REPOSITORY_PACKAGE = "book.store.repository";
+    private static final Set<String> SMALL_TABLES = Set.of("categories", "roles",
+            "id_generators");
+    private static final Set<String> FULL_SCANS_BY_DESIGN = Set.of(
+            "BookExportRepository.forEach(Consumer)");
+    private static final Set<String> SQL_KEYWORDS = Set.of("where", "set", "on", "join",
+            "left", "right", "inner", "cross", "order", "group", "limit", "values", "for");
+    private static final Pattern TABLE_REFERENCE = Pattern.compile(
+            "\\b(?:from|join|update)\\s+(\\w+)(?:\\s+(?:as\\s+)?(\\w+))?",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern H2_TABLE_SCAN = Pattern.compile("(\\w+)\\.tableScan");
+    private static final long BASE_ID = 100_000L;
+    private static final int BOOKS = 2000;
+    private static final int CATEGORIES = 5;
+    private static final int USERS = 400;
+    private static final int ITEMS_PER_USER = 5;
+    private static final Long BOOK_ID = BASE_ID + 42;
+    private static final Long CATEGORY_ID = BASE_ID + 2;
+    private static final Long USER_ID = BASE_ID + 7;
+    private static final Long ORDER_ID = BASE_ID + 7 * ITEMS_PER_USER;
+    private static final Long ORDER_ITEM_ID = BASE_ID + 7 * ITEMS_PER_USER * 2;
+    private static final Long CART_ITEM_ID = BASE_ID + 7 * ITEMS_PER_USER;
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private BookSpecificationBuilder bookSpecificationBuilder;
+    @Autowired
+    private BookExportRepository bookExportRepository;
+    @Autowired
+    private BookImportRepository bookImportRepository;
+    @Autowired
+    private BookStockRepository bookStockRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private ShoppingCartRepository shoppingCartRepository;
+    @Autowired
+    private CartItemRepository cartItemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeAll
+    void seedDatabase() {
+        deleteSeededRows();
+        insert("INSERT INTO categories (id, name, description) VALUES (?, ?, ?)", CATEGORIES,
+                i -> new Object[]{BASE_ID + i, "Audit category " + i, "Audit"});
+        insert("INSERT INTO books (id, title, author, isbn, price, description, cover_image) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", BOOKS,
+                i -> new Object[]{BASE_ID + i, "Audit book " + i, "Audit author " + i % 100,
+                        "AUDIT-" + i, new BigDecimal("9.99"), "Audit", "audit.jpg"});
+        insert("INSERT INTO books_categories (book_id, category_id) VALUES (?, ?)", BOOKS,
+                i -> new Object[]{BASE_ID + i, BASE_ID + i % CATEGORIES});
+        insert("INSERT INTO book_stock (book_id, shard, quantity) VALUES (?, ?, ?)", BOOKS,
+                i -> new Object[]{BASE_ID + i, 0, 100});
+        insert("INSERT INTO users (id, email, password, first_name, last_name) "
+                + "VALUES (?, ?, ?, ?, ?)", USERS,
+                i -> new Object[]{BASE_ID + i, "audit" + i + "@example.com", "password",
+                        "Audit", "User"});
+        Long userRoleId = jdbcTemplate.queryForObject(
+                "SELECT id FROM roles WHERE role_name = ?", Long.class, "ROLE_USER");
+        insert("INSERT INTO users_roles (user_id, role_id) VALUES (?, ?)", USERS,
+                i -> new Object[]{BASE_ID + i, userRoleId});
+        insert("INSERT INTO shopping_carts (id, user_id) VALUES (?, ?)", USERS,
+                i -> new Object[]{BASE_ID + i, BASE_ID + i});
+        insert("INSERT INTO cart_items (id, shopping_cart_id, book_id, quantity) "
+                + "VALUES (?, ?, ?, ?)", USERS * ITEMS_PER_USER,
+                i -> new Object[]{BASE_ID + i, BASE_ID + i / ITEMS_PER_USER,
+                        BASE_ID + i % BOOKS, 1});
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        insert("INSERT INTO orders (id, user_id, status, total, order_date, shipping_address) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", USERS * ITEMS_PER_USER,
+                i -> new Object[]{BASE_ID + i, BASE_ID + i / ITEMS_PER_USER,
+                        (i % 50 == 0 ? Order.Status.PROCESSING : Order.Status.ACCEPTED).name(),
+                        new BigDecimal("19.98"), now, "Audit street"});
+        insert("INSERT INTO order_items (id, order_id, book_id, quantity, price) "
+                + "VALUES (?, ?, ?, ?, ?)", USERS * ITEMS_PER_USER * 2,
+                i -> new Object[]{BASE_ID + i, BASE_ID + i / 2, BASE_ID + i % BOOKS, 1,
+                        new BigDecimal("9.99")});
+        insert("INSERT INTO outbox_events (id, event_type, aggregate_id, payload, created_at) "
+                + "VALUES (?, ?, ?, ?, ?)", USERS,
+                i -> new Object[]{BASE_ID + i, OutboxEvent.Type.ORDER_PLACED.name(), BASE_ID + i,
+                        "{}", now});
+        insert("INSERT INTO idempotency_keys (user_id, idempotency_key, request_hash, "
+                + "created_at) VALUES (?, ?, ?, ?)", USERS,
+                i -> new Object[]{BASE_ID + i, "audit-key", "hash", now});
+        List.of("books", "categories", "books_categories", "book_stock", "users", "users_roles",
+                "shopping_carts", "cart_items", "orders", "order_items", "outbox_events",
+                "idempotency_keys").forEach(table -> jdbcTemplate.execute("ANALYZE TABLE "
+                + table));
+    }
+
+    @AfterAll
+    void deleteSeededRows() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE user_id >= ?", BASE_ID);
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE id >= ?", BASE_ID);
+        jdbcTemplate.update("DELETE FROM order_items WHERE id >= ?", BASE_ID);
+        jdbcTemplate.update("DELETE FROM orders WHERE id >= ?", BASE_ID);
+        jdbcTemplate.update("DELETE FROM cart_items WHERE id >= ?", BASE_ID);
+        jdbcTemplate.update("DELETE FROM shopping_carts WHERE id >= ?", BASE_ID);
+        jdbcTemplate.update("DELETE FROM users_roles WHERE user_id >= ?", BASE_ID);
+        jdbcTemplate.update("DELETE FROM users WHERE id >= ?", BASE_ID);
+        jdbcTemplate.update("DELETE FROM book_stock WHERE book_id >= ?", BASE_ID);
+        jdbcTemplate.update("DELETE FROM books_categories WHERE book_id >= ?", BASE_ID);
+        jdbcTemplate.update("DELETE FROM books WHERE id >= ?", BASE_ID);
+        jdbcTemplate.update("DELETE FROM categories WHERE id >= ?", BASE_ID);
+    }
+
+    @Test
+    @DisplayName("Verify every query method in the repository package is audited")
+    public void queryMethods_AllRepositories_HaveAuditedInvocations() throws Exception {
+        //given
+        Set<String> queryMethods = findQueryMethods();
+
+        //when
+        Set<String> unauditedMethods = new TreeSet<>(queryMethods);
+        unauditedMethods.removeAll(queries().keySet());
+
+        //then
+        assertFalse(queryMethods.isEmpty());
+        assertEquals(Set.of(), unauditedMethods, "Add these methods to queries()");
+    }
+
+    @Test
+    @DisplayName("Verify no repository query scans a whole large table")
+    public void queryPlans_AllRepositoryQueries_UseIndexesOnLargeTables() {
+        //given
+        boolean mySql = isMySql();
+        List<String> fullScans = new ArrayList<>();
+
+        //when
+        queries().forEach((method, query) -> {
+            statementRecorder.start();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    query.run();
+                    status.setRollbackOnly();
+                });
+            } finally {
+                List<RecordedStatement> statements = statementRecorder.stop();
+                assertFalse(statements.isEmpty(), method + " didn't issue any statement");
+                if (!FULL_SCANS_BY_DESIGN.contains(method)) {
+                    statements.stream()
+                            .filter(statement -> isExplainable(statement.sql()))
+                            .distinct()
+                            .forEach(statement -> findLargeTableScans(statement, mySql)
+                                    .forEach(table -> fullScans.add(method + " scans "
+                                            + table + ": " + statement.sql())));
+                }
+            }
+        });
+
+        //then
+        assertEquals(List.of(), fullScans);
+    }
+
+    private Map<String, Runnable> queries() {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("BookRepository.findBookById(Long)",
+                () -> bookRepository.findBookById(BOOK_ID));
+        queries.put("BookRepository.findAllBookIds(Pageable)", () -> {
+            bookRepository.findAllBooks(PageRequest.of(3, 20));
+            bookRepository.findAllBooks(PageRequest.of(3, 20, Sort.by("title")));
+            bookRepository.findAllBooks(PageRequest.of(3, 20, Sort.by("author")));
+        });
+        queries.put("BookRepository.findBookIdsByCategoryId(Long)",
+                () -> bookRepository.findBookIdsByCategoryId(CATEGORY_ID));
+        queries.put("BookRepository.findBookIdsByCategoryId(Long, Pageable)",
+                () -> bookRepository.findBooksByCategoryId(CATEGORY_ID, PageRequest.of(2, 20)));
+        queries.put("BookRepository.findCategoryIdsByBookId(Long)",
+                () -> bookRepository.findCategoryIdsByBookId(BOOK_ID));
+        queries.put("BookRepository.findBookIdsAfterId(Long, Limit)",
+                () -> bookRepository.findBookIdsAfterId(BOOK_ID, Limit.of(20)));
+        queries.put("BookRepository.findBookIdsAfterTitle(String, Long, Limit)",
+                () -> bookRepository.findBookIdsAfterTitle("Audit book 42", BOOK_ID,
+                        Limit.of(20)));
+        queries.put("BookRepository.findAllFetchedByIdIn(Collection, Sort)",
+                () -> bookRepository.findAllFetched(List.of(BOOK_ID, BOOK_ID + 1),
+                        Sort.by("id")));
+        queries.put("BookRepository.findAll(Specification)", () -> {
+            bookRepository.findAll(bookSpecificationBuilder.build(new BookSearchParametersDto(
+                    new String[]{"Audit book 42"}, null, null)));
+            bookRepository.findAll(bookSpecificationBuilder.build(new BookSearchParametersDto(
+                    null, new String[]{"Audit author 42"}, null)));
+        });
+        queries.put("CategoryRepository.findAllIds()", () -> categoryRepository.findAllIds());
+        queries.put("OrderRepository.findOrderIdsByUserId(Long, Pageable)", () -> {
+            orderRepository.findAllByUserId(PageRequest.of(0, 20), USER_ID);
+            orderRepository.findAllByUserId(PageRequest.of(0, 20, Sort.by("orderDate")),
+                    USER_ID);
+        });
+        queries.put("OrderRepository.claimExpiredPlacements(Status, String, LocalDateTime, "
+                        + "LocalDateTime)",
+                () -> orderRepository.claimExpiredPlacements(Order.Status.PROCESSING, "audit",
+                        LocalDateTime.now().plusMinutes(5), LocalDateTime.now()));
+        queries.put("OrderRepository.findClaimedPlacementIds(Status, String, LocalDateTime)",
+                () -> orderRepository.findClaimedPlacementIds(Order.Status.PROCESSING, "audit",
+                        LocalDateTime.now()));
+        queries.put("OrderRepository.findAllByIdInAndStatus(Collection, Status)",
+                () -> orderRepository.findAllByIdInAndStatus(List.of(ORDER_ID),
+                        Order.Status.PROCESSING));
+        queries.put("OrderRepository.findByIdAndUserId(Long, Long)",
+                () -> orderRepository.findByIdAndUserId(ORDER_ID, USER_ID));
+        queries.put("OrderRepository.findAllFetchedByIdIn(Collection, Sort)",
+                () -> orderRepository.findAllFetched(List.of(ORDER_ID, ORDER_ID + 1),
+                        Sort.by("id")));
+        queries.put("OrderItemRepository.findAllByOrderId(Pageable, Long)",
+                () -> orderItemRepository.findAllByOrderId(PageRequest.of(0, 20), ORDER_ID));
+        queries.put("OrderItemRepository.findOrderItemByOrderIdAndId(Long, Long)",
+                () -> orderItemRepository.findOrderItemByOrderIdAndId(ORDER_ID, ORDER_ITEM_ID));
+        queries.put("OutboxEventRepository"
+                        + ".findAllByDeadLetteredAtIsNullOrderByCreatedAtAscIdAsc(Pageable)",
+                () -> outboxEventRepository.findAllByDeadLetteredAtIsNullOrderByCreatedAtAscIdAsc(
+                        PageRequest.of(0, 100)));
+        queries.put("RoleRepository.findByRoleName(RoleName)",
+                () -> roleRepository.findByRoleName(Role.RoleName.ROLE_USER));
+        queries.put("ShoppingCartRepository.findShoppingCartByUserId(Long)",
+                () -> shoppingCartRepository.findShoppingCartByUserId(USER_ID));
+        queries.put("ShoppingCartRepository.findIdByUserId(Long)",
+                () -> shoppingCartRepository.findIdByUserId(USER_ID));
+        queries.put("ShoppingCartRepository.incrementVersionById(Long)",
+                () -> shoppingCartRepository.incrementVersionById(USER_ID));
+        queries.put("CartItemRepository.findAllByShoppingCartId(Long)",
+                () -> cartItemRepository.findAllByShoppingCartId(USER_ID));
+        queries.put("CartItemRepository.softDeleteByIdAndShoppingCartId(Long, Long)",
+                () -> cartItemRepository.softDeleteByIdAndShoppingCartId(CART_ITEM_ID, USER_ID));
+        queries.put("CartItemRepository.softDeleteAllByShoppingCartIdIn(Collection)",
+                () -> cartItemRepository.softDeleteAllByShoppingCartIdIn(List.of(USER_ID)));
+        queries.put("UserRepository.findByEmail(String)",
+                () -> userRepository.findByEmail("audit7@example.com"));
+        queries.put("UserRepository.findTokenVersionById(Long)",
+                () -> userRepository.findTokenVersionById(USER_ID));
+        queries.put("UserRepository.incrementTokenVersion(Long)",
+                () -> userRepository.incrementTokenVersion(USER_ID));
+        queries.put("BookExportRepository.forEach(Consumer)",
+                () -> bookExportRepository.forEach(book -> { }));
+        queries.put("BookImportRepository.upsert(List)",
+                () -> bookImportRepository.upsert(List.of(createBook())));
+        queries.put("BookImportRepository.findIdsByIsbn(Collection)",
+                () -> bookImportRepository.findIdsByIsbn(List.of("AUDIT-42", "AUDIT-43")));
+        queries.put("BookImportRepository.replaceCategories(List)",
+                () -> bookImportRepository.replaceCategories(List.of(createBook())));
+        queries.put("BookStockRepository.decrement(List)", () -> bookStockRepository.decrement(
+                List.of(new ShardQuantity(BOOK_ID, 0, 1))));
+        queries.put("BookStockRepository.increment(List)", () -> bookStockRepository.increment(
+                List.of(new ShardQuantity(BOOK_ID, 0, 1))));
+        queries.put("BookStockRepository.lockShards(Long)",
+                () -> bookStockRepository.lockShards(BOOK_ID));
+        queries.put("BookStockRepository.sumQuantity(Long)",
+                () -> bookStockRepository.sumQuantity(BOOK_ID));
+        queries.put("BookStockRepository.replace(List, List)", () -> bookStockRepository.replace(
+                List.of(BOOK_ID), List.of(new ShardQuantity(BOOK_ID, 0, 5))));
+        queries.put("IdempotencyKeyRepository.insert(Long, String, String)",
+                () -> idempotencyKeyRepository.insert(USER_ID, "audit-key-2", "hash"));
+        queries.put("IdempotencyKeyRepository.find(Long, String)",
+                () -> idempotencyKeyRepository.find(USER_ID, "audit-key"));
+        queries.put("IdempotencyKeyRepository.saveResponse(Long, String, String)",
+                () -> idempotencyKeyRepository.saveResponse(USER_ID, "audit-key", "{}"));
+        queries.put("IdempotencyKeyRepository.deleteUnfinished(Long, String, LocalDateTime)",
+                () -> idempotencyKeyRepository.deleteUnfinished(USER_ID, "audit-key",
+                        LocalDateTime.now()));
+        queries.put("IdempotencyKeyRepository.deleteExpired(LocalDateTime, int)",
+                () -> idempotencyKeyRepository.deleteExpired(LocalDateTime.now().minusDays(1),
+                        100));
+        return queries;
+    }
+
+    private Set<String> findQueryMethods() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner =
+                new ClassPathScanningCandidateComponentProvider(false) {
+                    @Override
+                    protected boolean isCandidateComponent(AnnotatedBeanDefinition definition) {
+                        return definition.getMetadata().isIndependent();
+                    }
+                };
+        scanner.addIncludeFilter(new AssignableTypeFilter(
+                org.springframework.data.repository.Repository.class));
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Repository.class));
+        Set<String> queryMethods = new TreeSet<>();
+        for (BeanDefinition definition : scanner.findCandidateComponents(REPOSITORY_PACKAGE)) {
+            Class<?> repository = Class.forName(definition.getBeanClassName());
+            if (repository.isAnnotationPresent(NoRepositoryBean.class)) {
+                continue;
+            }
+            Arrays.stream(repository.getDeclaredMethods())
+                    .filter(method -> repository.isInterface()
+                            ? !method.isDefault() && !Modifier.isStatic(method.getModifiers())
+                            : Modifier.isPublic(method.getModifiers())
+                                    && !Modifier.isStatic(method.getModifiers()))
+                    .map(this::describe)
+                    .forEach(queryMethods::add);
+        }
+        return queryMethods;
+    }
+
+    private String describe(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName()
+                + Arrays.stream(method.getParameterTypes())
+                        .map(Class::getSimpleName)
+                        .collect(Collectors.joining(", ", "(", ")"));
+    }
+
+    private Set<String> findLargeTableScans(RecordedStatement statement, boolean mySql) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN "
+                + statement.sql(), statement.parameters().toArray());
+        Set<String> scannedTables = new TreeSet<>();
+        if (mySql) {
+            Map<String, String> tablesByAlias = findTablesByAlias(statement.sql());
+            plan.stream()
+                    .filter(step -> "ALL".equals(step.get("type")))
+                    .map(step -> tablesByAlias.get(String.valueOf(step.get("table"))
+                            .toLowerCase(Locale.ROOT)))
+                    .filter(table -> table != null)
+                    .forEach(scannedTables::add);
+        } else {
+            plan.forEach(step -> step.values().forEach(value -> {
+                Matcher matcher = H2_TABLE_SCAN.matcher(String.valueOf(value));
+                while (matcher.find()) {
+                    scannedTables.add(matcher.group(1).toLowerCase(Locale.ROOT));
+                }
+            }));
+        }
+        scannedTables.removeAll(SMALL_TABLES);
+        return scannedTables;
+    }
+
+    private Map<String, String> findTablesByAlias(String sql) {
+        Map<String, String> tablesByAlias = new HashMap<>();
+        Matcher matcher = TABLE_REFERENCE.matcher(sql.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            tablesByAlias.put(matcher.group(1), matcher.group(1));
+            if (matcher.group(2) != null && !SQL_KEYWORDS.contains(matcher.group(2))) {
+                tablesByAlias.put(matcher.group(2), matcher.group(1));
+            }
+        }
+        return tablesByAlias;
+    }
+
+    private boolean isExplainable(String sql) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return statement.startsWith("select") || statement.startsWith("update")
+                || statement.startsWith("delete");
+    }
+
+    private boolean isMySql() {
+        try {
+            return DatabaseDriver.fromProductName(JdbcUtils.extractDatabaseMetaData(dataSource,
+                    DatabaseMetaData::getDatabaseProductName)) == DatabaseDriver.MYSQL;
+        } catch (Exception e) {
+            throw new IllegalStateException("Can't read the database product name", e);
+        }
+    }
+
+    private void insert(String sql, int rows, RowValues rowValues) {
+        jdbcTemplate.batchUpdate(sql, IntStream.range(0, rows)
+                .mapToObj(rowValues::values)
+                .toList());
+    }
+
+    private Book createBook() {
+        Book book = new Book()
+                .setId(BOOK_ID)
+                .setTitle("Audit book 42")
+                .setAuthor("Audit author 42")
+                .setIsbn("AUDIT-42")
+                .setPrice(new BigDecimal("9.99"));
+        book.getCategories().add(new Category(CATEGORY_ID));
+        return book;
+    }
+
+    private interface RowValues {
+        Object[] values(int row);
+    }
+
+    @TestConfiguration
+    static class StatementRecorderConfig {
+        @Bean
+        static StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor(
+                StatementRecorder statementRecorder) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource
+                            ? statementRecorder.wrap(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package book.store.repository;
+
+import static book.store.sql.SqlStatementCountAssertions.assertStatementCount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import book.store.catalog.CatalogFormat;
+import book.store.model.Book;
+import book.store.model.Category;
+import book.store.model.Role;
+import book.store.repository.book.BookRepository;
+import book.store.repository.role.RoleRepository;
+import book.store.repository.user.UserRepository;
+import book.store.service.BookImportService;
+import book.store.service.CategoryService;
+import book.store.sql.SqlStatementCounter;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true"
+})
+@Sql(scripts = {"classpath:database/categories/add-categories-to-categories-table.sql",
+        "classpath:database/book/add-books-to-books-table.sql",
+        "classpath:database/user/add-users-to-users-tables.sql"})
+@Sql(scripts = {"classpath:database/categories/delete-categories-from-categories-table.sql",
+        "classpath:database/book/delete-books-from-books-table.sql",
+        "classpath:database/user/delete-users-from-users-table.sql"},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class SecondLevelCacheTest {
+    private static final Long USER_ID = 2L;
+
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookImportService bookImportService;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+    @Autowired
+    private SessionFactory sessionFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users_roles WHERE user_id = ?", USER_ID);
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Test
+    @DisplayName("Repeat book loads with categories are served from the second-level cache")
+    public void findById_CachedBook_IssuesNoStatements() throws Exception {
+        //given
+        loadBook(1L);
+
+        //when
+        BookSnapshot book = assertStatementCount(sqlStatementCounter, 0, () -> loadBook(1L));
+
+        //then
+        assertEquals(new BookSnapshot("Book 1", Set.of(1L)), book);
+    }
+
+    @Test
+    @DisplayName("Repeat role lookups by name are served from the query cache")
+    public void findByRoleName_CachedRole_IssuesNoStatements() throws Exception {
+        //given
+        Role expectedRole = roleRepository.findByRoleName(Role.RoleName.ROLE_USER);
+
+        //when
+        Role actualRole = assertStatementCount(sqlStatementCounter, 0,
+                () -> roleRepository.findByRoleName(Role.RoleName.ROLE_USER));
+
+        //then
+        assertEquals(expectedRole.getId(), actualRole.getId());
+    }
+
+    @Test
+    @DisplayName("User roles are served from the collection cache")
+    public void findById_CachedUserRoles_IssuesOneStatement() throws Exception {
+        //given
+        Role role = roleRepository.findByRoleName(Role.RoleName.ROLE_USER);
+        jdbcTemplate.update("INSERT INTO users_roles (user_id, role_id) VALUES (?, ?)",
+                USER_ID, role.getId());
+        loadRoleNames(USER_ID);
+
+        //when
+        Set<Role.RoleName> roleNames = assertStatementCount(sqlStatementCounter, 1,
+                () -> loadRoleNames(USER_ID));
+
+        //then
+        assertEquals(Set.of(Role.RoleName.ROLE_USER), roleNames);
+    }
+
+    @Test
+    @DisplayName("Importing a book evicts its cached entity and categories")
+    public void importBooks_CachedBook_ReturnsImportedBook() {
+        //given
+        loadBook(1L);
+        String csv = """
+                title,author,isbn,price,description,coverImage,categoryIds
+                Book 1 revised,Author 1,ISBN-1,11.00,,cover1.jpg,2
+                """;
+
+        //when
+        bookImportService.importBooks(new ByteArrayInputStream(
+                csv.getBytes(StandardCharsets.UTF_8)), CatalogFormat.CSV);
+
+        //then
+        assertEquals(new BookSnapshot("Book 1 revised", Set.of(2L)), loadBook(1L));
+    }
+
+    @Test
+    @DisplayName("Deleting a category evicts the cached categories of its books")
+    public void deleteById_CachedBookCategories_ReturnsBookWithoutCategory() {
+        //given
+        loadBook(3L);
+
+        //when
+        categoryService.deleteById(3L);
+
+        //then
+        assertEquals(new BookSnapshot("Book 3", Set.of()), loadBook(3L));
+    }
+
+    private BookSnapshot loadBook(Long id) {
+        return transactionTemplate.execute(status -> {
+            Book book = bookRepository.findById(id).orElseThrow();
+            return new BookSnapshot(book.getTitle(), book.getCategories().stream()
+                    .map(Category::getId)
+                    .collect(Collectors.toSet()));
+        });
+    }
+
+    private Set<Role.RoleName> loadRoleNames(Long userId) {
+        return transactionTemplate.execute(status -> userRepository.findById(userId)
+                .orElseThrow()
+                .getRoles().stream()
+                .map(Role::getRoleName)
+                .collect(Collectors.toSet()));
+    }
+
+    private record BookSnapshot(String title, Set<Long> categoryIds) {
+    }
+}
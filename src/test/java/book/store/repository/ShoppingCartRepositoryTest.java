@@ -89,7 +89,6 @@ public class ShoppingCartRepositoryTest {
         return new CartItem()
                 .setId(3L)
                 .setQuantity(30)
-                .setShoppingCart(shoppingCart)
-                .setDeleted(false);
+                .setShoppingCart(shoppingCart);
     }
 }
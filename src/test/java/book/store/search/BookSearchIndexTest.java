@@ -0,0 +1,121 @@
+package book.store.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+
+import book.store.dto.book.BookDtoWithoutCategoryIds;
+import book.store.dto.book.BookSearchParametersDto;
+import book.store.mapper.BookMapper;
+import book.store.mapper.impl.BookMapperImpl;
+import book.store.model.Book;
+import book.store.repository.book.BookRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+@ExtendWith(MockitoExtension.class)
+public class BookSearchIndexTest {
+    @Mock
+    private BookRepository bookRepository;
+    private final BookMapper bookMapper = new BookMapperImpl();
+    private BookSearchIndex bookSearchIndex;
+
+    @BeforeEach
+    public void setUp() {
+        List<Book> books = List.of(
+                createBook(1L, "Kobzar", "Taras Shevchenko", "TS-01"),
+                createBook(2L, "The Forest Song", "Lesya Ukrainka", "LU-02"),
+                createBook(3L, "Forest Stories", "Taras Prokhasko", "TP-03"));
+        Mockito.when(bookRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(books));
+        bookSearchIndex = new BookSearchIndex(bookRepository, bookMapper);
+        bookSearchIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Verify search() matches partial, case-insensitive and misspelled terms")
+    public void search_PartialAndMisspelledQuery_ReturnsMatchingBooks() {
+        assertEquals(List.of(1L), ids(search(null, null, "kobz")));
+        assertEquals(List.of(1L), ids(search(null, null, "SHEVCHENKO")));
+        assertEquals(List.of(1L), ids(search(null, null, "Shevchenk0")));
+        assertEquals(List.of(2L), ids(search(null, null, "lu02")));
+    }
+
+    @Test
+    @DisplayName("Verify search() ranks title matches above description matches")
+    public void search_QueryMatchingSeveralFields_ReturnsRankedBooks() {
+        assertEquals(List.of(2L, 3L, 1L), ids(search(null, null, "forest")));
+        assertEquals(List.of(3L, 1L), ids(search(null, new String[]{"Taras"}, "forest")));
+    }
+
+    @Test
+    @DisplayName("Verify search() restricts titles and authors to their own fields")
+    public void search_TitlesAndAuthors_ReturnsBooksMatchingBoth() {
+        assertEquals(List.of(1L, 3L), ids(search(null, new String[]{"taras"}, null)));
+        assertEquals(List.of(2L), ids(search(new String[]{"song", "kobzar"},
+                new String[]{"ukrainka"}, null)));
+        assertTrue(search(new String[]{"shevchenko"}, null, null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Verify index() and remove() keep the index up to date")
+    public void indexAndRemove_ChangedBooks_UpdatesSearchResults() {
+        bookSearchIndex.index(createBook(1L, "Haidamaky", "Taras Shevchenko", "TS-01"));
+        bookSearchIndex.remove(3L);
+
+        assertTrue(search(null, null, "kobzar").isEmpty());
+        assertEquals(List.of(1L), ids(search(null, null, "haidamaky")));
+        assertEquals(List.of(2L, 1L), ids(search(null, null, "forest")));
+    }
+
+    @Test
+    @DisplayName("Verify search() returns the requested page and whether another one follows")
+    public void search_PagedQuery_ReturnsSliceOfRankedBooks() {
+        BookSearchParametersDto searchParameters = new BookSearchParametersDto(
+                null, null, "forest");
+
+        Slice<BookDtoWithoutCategoryIds> firstPage =
+                bookSearchIndex.search(searchParameters, PageRequest.of(0, 2));
+        Slice<BookDtoWithoutCategoryIds> lastPage =
+                bookSearchIndex.search(searchParameters, PageRequest.of(1, 2));
+
+        assertEquals(List.of(2L, 3L), ids(firstPage.getContent()));
+        assertTrue(firstPage.hasNext());
+        assertEquals(List.of(1L), ids(lastPage.getContent()));
+        assertFalse(lastPage.hasNext());
+    }
+
+    private List<BookDtoWithoutCategoryIds> search(String[] titles, String[] authors,
+                                                   String query) {
+        return bookSearchIndex.search(new BookSearchParametersDto(titles, authors, query),
+                Pageable.unpaged()).getContent();
+    }
+
+    private List<Long> ids(List<BookDtoWithoutCategoryIds> books) {
+        return books.stream()
+                .map(BookDtoWithoutCategoryIds::getId)
+                .toList();
+    }
+
+    private Book createBook(Long id, String title, String author, String isbn) {
+        return new Book()
+                .setId(id)
+                .setTitle(title)
+                .setAuthor(author)
+                .setIsbn(isbn)
+                .setPrice(new BigDecimal("9.99"))
+                .setDescription("A story about the forest");
+    }
+}
@@ -0,0 +1,186 @@
+package book.store.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import book.store.model.Role;
+import book.store.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+public class JwtAuthenticationFilterTest {
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+    private static final String EMAIL = "user@example.com";
+    private static final Long USER_ID = 1L;
+    private static final Long TOKEN_VERSION = 3L;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+    @Mock
+    private UserCache userCache;
+    @Mock
+    private TokenVersionService tokenVersionService;
+    @Mock
+    private FilterChain filterChain;
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60_000L);
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtUtil, userDetailsService,
+                userCache, tokenVersionService, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Verify a token with stateless claims authenticates without loading the user")
+    public void doFilter_StatelessClaims_AuthenticatesFromClaims() throws Exception {
+        //given
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessClaims", true);
+        when(tokenVersionService.getTokenVersion(USER_ID)).thenReturn(TOKEN_VERSION);
+        String token = jwtUtil.generateToken(EMAIL, Map.of(
+                JwtUtil.USER_ID_CLAIM, USER_ID,
+                JwtUtil.TOKEN_VERSION_CLAIM, TOKEN_VERSION,
+                JwtUtil.ROLES_CLAIM, List.of(Role.RoleName.ROLE_USER.name())));
+
+        //when
+        doFilter(token);
+
+        //then
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        User user = (User) authentication.getPrincipal();
+        assertEquals(USER_ID, user.getId());
+        assertEquals(EMAIL, user.getEmail());
+        assertEquals(Set.of(Role.RoleName.ROLE_USER.name()),
+                AuthorityUtils.authorityListToSet(authentication.getAuthorities()));
+        verifyNoInteractions(userDetailsService, userCache);
+    }
+
+    @Test
+    @DisplayName("Verify a token with stateless claims is rejected after its version changes")
+    public void doFilter_StatelessClaimsVersionMismatch_DoesNotAuthenticate() throws Exception {
+        //given
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessClaims", true);
+        when(tokenVersionService.getTokenVersion(USER_ID)).thenReturn(TOKEN_VERSION + 1);
+        String token = jwtUtil.generateToken(EMAIL, Map.of(
+                JwtUtil.USER_ID_CLAIM, USER_ID,
+                JwtUtil.TOKEN_VERSION_CLAIM, TOKEN_VERSION,
+                JwtUtil.ROLES_CLAIM, List.of(Role.RoleName.ROLE_USER.name())));
+
+        //when
+        doFilter(token);
+
+        //then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService, userCache);
+    }
+
+    @Test
+    @DisplayName("Verify a revoked token is rejected when the user is loaded per request")
+    public void doFilter_RevokedTokenWithoutStatelessClaims_DoesNotAuthenticate()
+            throws Exception {
+        //given
+        when(tokenVersionService.getTokenVersion(USER_ID)).thenReturn(TOKEN_VERSION + 1);
+        String token = jwtUtil.generateToken(EMAIL, Map.of(
+                JwtUtil.USER_ID_CLAIM, USER_ID,
+                JwtUtil.TOKEN_VERSION_CLAIM, TOKEN_VERSION));
+
+        //when
+        doFilter(token);
+
+        //then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService, userCache);
+    }
+
+    @Test
+    @DisplayName("Verify a current token without stateless claims loads the user")
+    public void doFilter_CurrentTokenWithoutStatelessClaims_LoadsUser() throws Exception {
+        //given
+        User user = new User().setId(USER_ID).setEmail(EMAIL).setTokenVersion(TOKEN_VERSION);
+        when(tokenVersionService.getTokenVersion(USER_ID)).thenReturn(TOKEN_VERSION);
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user);
+        String token = jwtUtil.generateToken(EMAIL, Map.of(
+                JwtUtil.USER_ID_CLAIM, USER_ID,
+                JwtUtil.TOKEN_VERSION_CLAIM, TOKEN_VERSION));
+
+        //when
+        doFilter(token);
+
+        //then
+        assertEquals(user, SecurityContextHolder.getContext().getAuthentication()
+                .getPrincipal());
+        ArgumentCaptor<UserDetails> cachedUser = ArgumentCaptor.forClass(UserDetails.class);
+        verify(userCache).putUserInCache(cachedUser.capture());
+        UserSnapshot userSnapshot = assertInstanceOf(UserSnapshot.class, cachedUser.getValue());
+        assertEquals(USER_ID, userSnapshot.getId());
+        assertEquals(TOKEN_VERSION, userSnapshot.getTokenVersion());
+    }
+
+    @Test
+    @DisplayName("Verify a cached user gives every request its own principal")
+    public void doFilter_CachedUser_AuthenticatesWithFreshPrincipalPerRequest()
+            throws Exception {
+        //given
+        when(tokenVersionService.getTokenVersion(USER_ID)).thenReturn(TOKEN_VERSION);
+        when(userCache.getUserFromCache(EMAIL)).thenReturn(new UserSnapshot(USER_ID, EMAIL,
+                TOKEN_VERSION, Set.of(Role.RoleName.ROLE_USER)));
+        String token = jwtUtil.generateToken(EMAIL, Map.of(
+                JwtUtil.USER_ID_CLAIM, USER_ID,
+                JwtUtil.TOKEN_VERSION_CLAIM, TOKEN_VERSION));
+
+        //when
+        doFilter(token);
+        User firstPrincipal = (User) SecurityContextHolder.getContext().getAuthentication()
+                .getPrincipal();
+        firstPrincipal.getRoles().add(new Role().setRoleName(Role.RoleName.ROLE_ADMIN));
+        SecurityContextHolder.clearContext();
+        doFilter(token);
+
+        //then
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotSame(firstPrincipal, authentication.getPrincipal());
+        assertEquals(USER_ID, ((User) authentication.getPrincipal()).getId());
+        assertEquals(Set.of(Role.RoleName.ROLE_USER.name()),
+                AuthorityUtils.authorityListToSet(authentication.getAuthorities()));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    private void doFilter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+    }
+}
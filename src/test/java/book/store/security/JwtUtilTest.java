@@ -0,0 +1,118 @@
+package book.store.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class JwtUtilTest {
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+    private static final String OTHER_SECRET = "fedcba9876543210fedcba9876543210fedcba9876543210";
+    private static final String EMAIL = "user@example.com";
+    private static final long EXPIRATION = 60_000L;
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = createJwtUtil(SECRET, EXPIRATION);
+    }
+
+    @Test
+    @DisplayName("Verify the same token twice returns the cached claims")
+    public void verify_SameTokenTwice_ReturnsCachedClaims() {
+        //given
+        String token = jwtUtil.generateToken(EMAIL);
+
+        //when
+        Claims first = jwtUtil.verify(token);
+        Claims second = jwtUtil.verify(token);
+
+        //then
+        assertSame(first, second);
+        assertEquals(EMAIL, second.getSubject());
+    }
+
+    @Test
+    @DisplayName("Verify different tokens don't share cached claims")
+    public void verify_DifferentTokens_ReturnsOwnClaims() {
+        //given
+        String token = jwtUtil.generateToken(EMAIL);
+        String otherToken = jwtUtil.generateToken("other@example.com");
+
+        //when
+        Claims claims = jwtUtil.verify(token);
+        Claims otherClaims = jwtUtil.verify(otherToken);
+
+        //then
+        assertNotSame(claims, otherClaims);
+        assertEquals("other@example.com", otherClaims.getSubject());
+    }
+
+    @Test
+    @DisplayName("Verify a cached token is rejected once it reaches its expiration")
+    public void verify_CachedTokenAfterExpiration_ThrowsException() throws Exception {
+        //given
+        JwtUtil shortLivedJwtUtil = createJwtUtil(SECRET, 1_000L);
+        String token = shortLivedJwtUtil.generateToken(EMAIL);
+        Claims claims = shortLivedJwtUtil.verify(token);
+
+        //when
+        Thread.sleep(Math.max(0, claims.getExpiration().getTime()
+                - System.currentTimeMillis()) + 100);
+
+        //then
+        assertThrows(JwtException.class, () -> shortLivedJwtUtil.verify(token));
+    }
+
+    @Test
+    @DisplayName("Verify a token with a tampered payload is rejected after the original is cached")
+    public void verify_TamperedPayload_ThrowsException() {
+        //given
+        String token = jwtUtil.generateToken(EMAIL, Map.of(JwtUtil.USER_ID_CLAIM, 1L));
+        jwtUtil.verify(token);
+        String[] parts = token.split("\\.");
+        String tamperedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                        .replace("\"uid\":1", "\"uid\":2")
+                        .getBytes(StandardCharsets.UTF_8));
+        String tamperedToken = parts[0] + "." + tamperedPayload + "." + parts[2];
+
+        //when
+        JwtException exception = assertThrows(JwtException.class,
+                () -> jwtUtil.verify(tamperedToken));
+
+        //then
+        assertEquals("Expired or invalid JWT token", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Verify a token signed with another key is rejected")
+    public void verify_TokenSignedWithOtherKey_ThrowsException() {
+        //given
+        String token = createJwtUtil(OTHER_SECRET, EXPIRATION).generateToken(EMAIL);
+
+        //when
+        JwtException exception = assertThrows(JwtException.class,
+                () -> jwtUtil.verify(token));
+
+        //then
+        assertEquals("Expired or invalid JWT token", exception.getMessage());
+    }
+
+    private JwtUtil createJwtUtil(String secret, long expiration) {
+        JwtUtil createdJwtUtil = new JwtUtil(secret);
+        ReflectionTestUtils.setField(createdJwtUtil, "expiration", expiration);
+        return createdJwtUtil;
+    }
+}
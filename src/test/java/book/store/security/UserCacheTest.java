@@ -0,0 +1,163 @@
+package book.store.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import book.store.config.CacheConfig;
+import book.store.dto.user.UpdateUserRolesRequestDto;
+import book.store.model.Role;
+import book.store.repository.user.UserRepository;
+import book.store.service.UserService;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.cache.type=caffeine")
+public class UserCacheTest {
+    private static final Long USER_ID = 2L;
+    private static final String EMAIL = "user2@example.com";
+
+    private static MockMvc mockMvc;
+    @Autowired
+    private UserCache userCache;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    static void beforeAll(@Autowired DataSource dataSource,
+                          @Autowired WebApplicationContext applicationContext) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .apply(springSecurity())
+                .build();
+        teardown(dataSource);
+    }
+
+    @BeforeEach
+    public void beforeEach(@Autowired @NotNull DataSource dataSource) {
+        executeSqlScript(dataSource, "database/user/add-users-to-users-tables.sql");
+        new JdbcTemplate(dataSource).update("INSERT INTO users_roles (user_id, role_id) "
+                + "SELECT ?, id FROM roles WHERE role_name = ?", USER_ID,
+                Role.RoleName.ROLE_USER.name());
+        userCache.removeUserFromCache(EMAIL);
+        cacheManager.getCache(CacheConfig.TOKEN_VERSIONS).clear();
+    }
+
+    @AfterEach
+    public void afterEach(@Autowired DataSource dataSource) {
+        teardown(dataSource);
+    }
+
+    @Test
+    @DisplayName("Authenticated requests cache an immutable snapshot of the user")
+    public void getCategories_RepeatedRequests_CachesUserSnapshot() throws Exception {
+        //given
+        String token = generateToken(0L);
+
+        //when
+        getCategories(token).andExpect(status().isOk());
+        ResultActions result = getCategories(token);
+
+        //then
+        result.andExpect(status().isOk());
+        UserSnapshot userSnapshot = assertInstanceOf(UserSnapshot.class,
+                userCache.getUserFromCache(EMAIL));
+        assertEquals(USER_ID, userSnapshot.getId());
+        assertEquals(Set.of(Role.RoleName.ROLE_USER), userSnapshot.getRoleNames());
+    }
+
+    @Test
+    @DisplayName("Updating the user evicts the cached snapshot")
+    public void updateUser_CachedUser_EvictsSnapshot() throws Exception {
+        //given
+        getCategories(generateToken(0L)).andExpect(status().isOk());
+
+        //when
+        transactionTemplate.executeWithoutResult(status -> userRepository.findById(USER_ID)
+                .orElseThrow()
+                .setFirstName("Changed"));
+
+        //then
+        assertNull(userCache.getUserFromCache(EMAIL));
+    }
+
+    @Test
+    @DisplayName("Changing roles evicts the cached snapshot and applies the new roles")
+    public void updateRoles_CachedUser_AppliesNewRoles() throws Exception {
+        //given
+        getCategories(generateToken(0L)).andExpect(status().isOk());
+        UpdateUserRolesRequestDto requestDto = new UpdateUserRolesRequestDto();
+        requestDto.setRoles(Set.of(Role.RoleName.ROLE_ADMIN));
+
+        //when
+        userService.updateRoles(USER_ID, requestDto);
+        ResultActions result = getCategories(generateToken(1L));
+
+        //then
+        result.andExpect(status().isForbidden());
+        UserSnapshot userSnapshot = assertInstanceOf(UserSnapshot.class,
+                userCache.getUserFromCache(EMAIL));
+        assertEquals(Set.of(Role.RoleName.ROLE_ADMIN), userSnapshot.getRoleNames());
+        getCategories(generateToken(0L)).andExpect(status().isUnauthorized());
+    }
+
+    private String generateToken(Long tokenVersion) {
+        return jwtUtil.generateToken(EMAIL, Map.of(
+                JwtUtil.USER_ID_CLAIM, USER_ID,
+                JwtUtil.TOKEN_VERSION_CLAIM, tokenVersion));
+    }
+
+    private ResultActions getCategories(String token) throws Exception {
+        return mockMvc.perform(get("/api/categories")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+
+    private static void teardown(DataSource dataSource) {
+        new JdbcTemplate(dataSource).update("DELETE FROM users_roles WHERE user_id = ?",
+                USER_ID);
+        executeSqlScript(dataSource, "database/user/delete-users-from-users-table.sql");
+    }
+
+    private static void executeSqlScript(DataSource dataSource, String script) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource(script));
+        } catch (SQLException e) {
+            throw new RuntimeException("Error executing " + script, e);
+        }
+    }
+}
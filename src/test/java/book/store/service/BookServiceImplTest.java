@@ -2,24 +2,30 @@ package book.store.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import book.store.dto.book.BookDto;
 import book.store.dto.book.BookDtoWithoutCategoryIds;
+import book.store.dto.book.BookSearchParametersDto;
+import book.store.dto.book.BookSliceDto;
 import book.store.dto.book.CreateBookRequestDto;
 import book.store.exception.EntityNotFoundException;
 import book.store.mapper.BookMapper;
 import book.store.model.Book;
 import book.store.model.Category;
 import book.store.repository.book.BookRepository;
+import book.store.search.BookSearchIndex;
 import book.store.service.impl.BookServiceImpl;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.jetbrains.annotations.NotNull;
@@ -34,6 +40,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @ExtendWith(MockitoExtension.class)
 public class BookServiceImplTest {
@@ -41,6 +50,10 @@ public class BookServiceImplTest {
     private BookRepository bookRepository;
     @Mock
     private BookMapper bookMapper;
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+    @Mock
+    private InventoryService inventoryService;
     @InjectMocks
     private BookServiceImpl bookServiceImpl;
 
@@ -90,6 +103,82 @@ public class BookServiceImplTest {
         verify(bookMapper, Mockito.times(1)).toDto(book);
         verifyNoMoreInteractions(bookMapper);
         verifyNoMoreInteractions(bookRepository);
+        verifyNoInteractions(inventoryService);
+    }
+
+    @Test
+    @DisplayName("Verify save() indexes the book for search only after the transaction commits")
+    public void save_InTransaction_IndexesBookAfterCommit() {
+        //given
+        CreateBookRequestDto createBookRequestDto = new CreateBookRequestDto()
+                .setTitle("Kobzar")
+                .setIsbn("TS-01");
+        Book book = new Book().setId(1L).setTitle("Kobzar").setIsbn("TS-01");
+
+        Mockito.when(bookMapper.toModel(createBookRequestDto)).thenReturn(book);
+        Mockito.when(bookRepository.save(book)).thenReturn(book);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            //when
+            bookServiceImpl.save(createBookRequestDto);
+            verifyNoInteractions(bookSearchIndex);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        //then
+        verify(bookSearchIndex, Mockito.times(1)).index(book);
+    }
+
+    @Test
+    @DisplayName("Verify save() method sets the stock of a book created with one")
+    public void save_BookWithStock_SetsStock() {
+        //given
+        Long bookId = 1L;
+        CreateBookRequestDto createBookRequestDto = new CreateBookRequestDto()
+                .setTitle("Kobzar")
+                .setAuthor("Taras Shevchenko")
+                .setIsbn("TS-01")
+                .setPrice(new BigDecimal("99.99"))
+                .setCategoryIds(Collections.singleton(1L))
+                .setStock(5);
+        Book book = createBook(bookId);
+
+        Mockito.when(bookMapper.toModel(createBookRequestDto)).thenReturn(book);
+        Mockito.when(bookRepository.save(book)).thenReturn(book);
+
+        //when
+        bookServiceImpl.save(createBookRequestDto);
+
+        //then
+        verify(inventoryService, Mockito.times(1)).setStock(Map.of(bookId, 5));
+    }
+
+    @Test
+    @DisplayName("Verify search() method answers from the search index when it is ready")
+    public void search_IndexIsReady_ReturnsIndexedBooks() {
+        //given
+        BookSearchParametersDto searchParameters = new BookSearchParametersDto(
+                new String[]{"Kobzar"}, null, null);
+        Pageable pageable = PageRequest.of(0, 1);
+        BookDtoWithoutCategoryIds bookDto = createBookDtoWithoutCategoryIds(createBook(1L));
+
+        Mockito.when(bookSearchIndex.isReady()).thenReturn(true);
+        Mockito.when(bookSearchIndex.search(searchParameters, pageable))
+                .thenReturn(new SliceImpl<>(List.of(bookDto), pageable, true));
+
+        //when
+        BookSliceDto actualBooks = bookServiceImpl.search(searchParameters, pageable);
+
+        //then
+        assertEquals(new BookSliceDto().setContent(List.of(bookDto)).setHasNext(true),
+                actualBooks);
+
+        verify(bookSearchIndex, Mockito.times(1)).search(searchParameters, pageable);
+        verifyNoMoreInteractions(bookRepository);
+        verifyNoMoreInteractions(bookMapper);
     }
 
     @Test
@@ -174,19 +263,22 @@ public class BookServiceImplTest {
         Long bookId = 1L;
         Book book = createBook(bookId);
         BookDtoWithoutCategoryIds bookDtoWithoutCategoryId = createBookDtoWithoutCategoryIds(book);
+        Pageable pageable = PageRequest.of(0, 10);
 
-        Mockito.when(bookRepository.findBooksByCategoryId(categoryId)).thenReturn(List.of(book));
+        Mockito.when(bookRepository.findBooksByCategoryId(categoryId, pageable))
+                .thenReturn(new SliceImpl<>(List.of(book), pageable, false));
         Mockito.when(bookMapper.toDtoWithoutCategories(book)).thenReturn(bookDtoWithoutCategoryId);
 
         //when
-        List<BookDtoWithoutCategoryIds> actualBooksWithoutCategoryId =
-                bookServiceImpl.findAllBooksByCategoryId(categoryId);
+        BookSliceDto actualBooksWithoutCategoryId =
+                bookServiceImpl.findAllBooksByCategoryId(categoryId, pageable);
 
         //then
-        assertThat(actualBooksWithoutCategoryId).hasSize(1);
-        assertEquals(bookDtoWithoutCategoryId, actualBooksWithoutCategoryId.get(0));
+        assertThat(actualBooksWithoutCategoryId.getContent()).hasSize(1);
+        assertEquals(bookDtoWithoutCategoryId, actualBooksWithoutCategoryId.getContent().get(0));
+        assertFalse(actualBooksWithoutCategoryId.isHasNext());
 
-        verify(bookRepository, Mockito.times(1)).findBooksByCategoryId(categoryId);
+        verify(bookRepository, Mockito.times(1)).findBooksByCategoryId(categoryId, pageable);
         verify(bookMapper, Mockito.times(1)).toDtoWithoutCategories(book);
         verifyNoMoreInteractions(bookRepository);
         verifyNoMoreInteractions(bookMapper);
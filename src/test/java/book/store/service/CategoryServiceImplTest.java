@@ -13,6 +13,7 @@ import book.store.dto.category.CreateCategoryRequestDto;
 import book.store.exception.EntityNotFoundException;
 import book.store.mapper.CategoryMapper;
 import book.store.model.Category;
+import book.store.repository.book.BookRepository;
 import book.store.repository.category.CategoryRepository;
 import book.store.service.impl.CategoryServiceImpl;
 import java.util.List;
@@ -25,6 +26,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -36,6 +38,10 @@ public class CategoryServiceImplTest {
     private CategoryRepository categoryRepository;
     @Mock
     private CategoryMapper categoryMapper;
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private CacheManager cacheManager;
     @InjectMocks
     private CategoryServiceImpl categoryServiceImpl;
 
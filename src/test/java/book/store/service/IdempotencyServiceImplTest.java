@@ -0,0 +1,201 @@
+package book.store.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+import book.store.dto.shopping.cart.AddBookToShoppingCartRequestDto;
+import book.store.dto.shopping.cart.ShoppingCartDto;
+import book.store.exception.IdempotencyKeyInUseException;
+import book.store.exception.IdempotencyKeyMismatchException;
+import book.store.repository.idempotency.IdempotencyKeyRepository;
+import book.store.service.impl.IdempotencyServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyServiceImplTest {
+    private static final Long USER_ID = 2L;
+    private static final String KEY = "add-book-3";
+
+    private static final long CLAIM_TIMEOUT = 60_000;
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private IdempotencyServiceImpl idempotencyServiceImpl;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyServiceImpl = new IdempotencyServiceImpl(idempotencyKeyRepository,
+                objectMapper, new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(idempotencyServiceImpl, "claimTimeout", CLAIM_TIMEOUT);
+    }
+
+    @Test
+    @DisplayName("Verify execute() runs the action and saves its response for a new key")
+    public void execute_NewKey_RunsActionAndSavesResponse() throws Exception {
+        //given
+        AddBookToShoppingCartRequestDto requestDto = createRequestDto(3L);
+        ShoppingCartDto expectedShoppingCartDto = new ShoppingCartDto().setId(2L).setUserId(2L);
+
+        String requestHash = hash(requestDto);
+
+        Mockito.when(idempotencyKeyRepository.insert(USER_ID, KEY, requestHash))
+                .thenReturn(true);
+
+        //when
+        ShoppingCartDto actualShoppingCartDto = idempotencyServiceImpl.execute(USER_ID, KEY,
+                requestDto, ShoppingCartDto.class, () -> expectedShoppingCartDto);
+
+        //then
+        assertEquals(expectedShoppingCartDto, actualShoppingCartDto);
+        verify(idempotencyKeyRepository, Mockito.times(1)).saveResponse(USER_ID, KEY,
+                objectMapper.writeValueAsString(expectedShoppingCartDto));
+        verify(transactionManager, Mockito.times(1)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Verify execute() takes over a key whose request never finished")
+    public void execute_StaleUnfinishedKey_RunsActionAgain() throws Exception {
+        //given
+        AddBookToShoppingCartRequestDto requestDto = createRequestDto(3L);
+        ShoppingCartDto expectedShoppingCartDto = new ShoppingCartDto().setId(2L).setUserId(2L);
+
+        String requestHash = hash(requestDto);
+
+        Mockito.when(idempotencyKeyRepository.insert(USER_ID, KEY, requestHash))
+                .thenReturn(false, true);
+        Mockito.when(idempotencyKeyRepository.deleteUnfinished(eq(USER_ID), eq(KEY),
+                any(LocalDateTime.class))).thenReturn(true);
+
+        //when
+        ShoppingCartDto actualShoppingCartDto = idempotencyServiceImpl.execute(USER_ID, KEY,
+                requestDto, ShoppingCartDto.class, () -> expectedShoppingCartDto);
+
+        //then
+        assertEquals(expectedShoppingCartDto, actualShoppingCartDto);
+        verify(idempotencyKeyRepository, Mockito.times(1)).deleteUnfinished(eq(USER_ID),
+                eq(KEY), argThat(claimedBefore -> claimedBefore.isBefore(
+                        LocalDateTime.now().minusSeconds(CLAIM_TIMEOUT / 1000 - 1))));
+        verify(idempotencyKeyRepository, Mockito.times(1)).saveResponse(USER_ID, KEY,
+                objectMapper.writeValueAsString(expectedShoppingCartDto));
+    }
+
+    @Test
+    @DisplayName("Verify execute() replays the saved response for a completed key")
+    public void execute_CompletedKey_ReturnsSavedResponse() throws Exception {
+        //given
+        AddBookToShoppingCartRequestDto requestDto = createRequestDto(3L);
+        ShoppingCartDto expectedShoppingCartDto = new ShoppingCartDto().setId(2L).setUserId(2L);
+        IdempotencyKeyRepository.IdempotencyKey savedKey =
+                new IdempotencyKeyRepository.IdempotencyKey(hash(requestDto),
+                        objectMapper.writeValueAsString(expectedShoppingCartDto));
+
+        Mockito.when(idempotencyKeyRepository.insert(eq(USER_ID), eq(KEY), anyString()))
+                .thenReturn(false);
+        Mockito.when(idempotencyKeyRepository.find(USER_ID, KEY))
+                .thenReturn(Optional.of(savedKey));
+
+        //when
+        ShoppingCartDto actualShoppingCartDto = idempotencyServiceImpl.execute(USER_ID, KEY,
+                requestDto, ShoppingCartDto.class, () -> {
+                    throw new IllegalStateException("The action must not run again");
+                });
+
+        //then
+        assertEquals(expectedShoppingCartDto, actualShoppingCartDto);
+    }
+
+    @Test
+    @DisplayName("Verify execute() rejects a key that is still being processed")
+    public void execute_KeyInProgress_ThrowsIdempotencyKeyInUseException() throws Exception {
+        //given
+        AddBookToShoppingCartRequestDto requestDto = createRequestDto(3L);
+        IdempotencyKeyRepository.IdempotencyKey savedKey =
+                new IdempotencyKeyRepository.IdempotencyKey(hash(requestDto), null);
+
+        Mockito.when(idempotencyKeyRepository.insert(eq(USER_ID), eq(KEY), anyString()))
+                .thenReturn(false);
+        Mockito.when(idempotencyKeyRepository.find(USER_ID, KEY))
+                .thenReturn(Optional.of(savedKey));
+
+        //when+then
+        assertThrows(IdempotencyKeyInUseException.class,
+                () -> idempotencyServiceImpl.execute(USER_ID, KEY, requestDto,
+                        ShoppingCartDto.class, ShoppingCartDto::new));
+    }
+
+    @Test
+    @DisplayName("Verify execute() rejects a key reused for a different request")
+    public void execute_KeyOfAnotherRequest_ThrowsIdempotencyKeyMismatchException()
+            throws Exception {
+        //given
+        AddBookToShoppingCartRequestDto requestDto = createRequestDto(3L);
+        IdempotencyKeyRepository.IdempotencyKey savedKey =
+                new IdempotencyKeyRepository.IdempotencyKey(hash(createRequestDto(1L)), "{}");
+
+        Mockito.when(idempotencyKeyRepository.insert(eq(USER_ID), eq(KEY), anyString()))
+                .thenReturn(false);
+        Mockito.when(idempotencyKeyRepository.find(USER_ID, KEY))
+                .thenReturn(Optional.of(savedKey));
+
+        //when+then
+        assertThrows(IdempotencyKeyMismatchException.class,
+                () -> idempotencyServiceImpl.execute(USER_ID, KEY, requestDto,
+                        ShoppingCartDto.class, ShoppingCartDto::new));
+    }
+
+    @Test
+    @DisplayName("Verify execute() rolls the key back with the action when it fails")
+    public void execute_FailingAction_RollsBackKey() {
+        //given
+        AddBookToShoppingCartRequestDto requestDto = createRequestDto(3L);
+
+        Mockito.when(idempotencyKeyRepository.insert(eq(USER_ID), eq(KEY), anyString()))
+                .thenReturn(true);
+
+        //when
+        assertThrows(IllegalStateException.class,
+                () -> idempotencyServiceImpl.execute(USER_ID, KEY, requestDto,
+                        ShoppingCartDto.class, () -> {
+                            throw new IllegalStateException("Placement failed");
+                        }));
+
+        //then
+        verify(transactionManager, Mockito.times(1)).rollback(any());
+        verify(transactionManager, Mockito.never()).commit(any());
+        verify(idempotencyKeyRepository, Mockito.never()).saveResponse(eq(USER_ID), eq(KEY),
+                anyString());
+    }
+
+    private AddBookToShoppingCartRequestDto createRequestDto(Long bookId) {
+        return new AddBookToShoppingCartRequestDto()
+                .setBookId(bookId)
+                .setQuantity(10);
+    }
+
+    private String hash(Object request) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(objectMapper.writeValueAsBytes(request)));
+    }
+}
@@ -0,0 +1,74 @@
+package book.store.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+
+import book.store.exception.OutOfStockException;
+import book.store.repository.book.BookRepository;
+import book.store.repository.book.BookStockRepository;
+import book.store.repository.book.BookStockRepository.ShardQuantity;
+import book.store.service.impl.InventoryServiceImpl;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+public class InventoryServiceImplTest {
+    private static final Long FIRST_BOOK_ID = 1L;
+    private static final Long SECOND_BOOK_ID = 2L;
+
+    @Mock
+    private BookStockRepository bookStockRepository;
+    @Mock
+    private BookRepository bookRepository;
+    @InjectMocks
+    private InventoryServiceImpl inventoryServiceImpl;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(inventoryServiceImpl, "stockShards", 1);
+    }
+
+    @Test
+    @DisplayName("Verify reserve() lets books without stock rows through")
+    public void reserve_BookWithoutStockRows_DoesNotReserve() {
+        //given
+        Mockito.when(bookStockRepository.decrement(anyList())).thenReturn(new int[]{1, 0});
+        Mockito.when(bookStockRepository.lockShards(SECOND_BOOK_ID)).thenReturn(List.of());
+
+        //when
+        inventoryServiceImpl.reserve(Map.of(FIRST_BOOK_ID, 1, SECOND_BOOK_ID, 1));
+
+        //then
+        verify(bookStockRepository, Mockito.times(1)).decrement(List.of(
+                new ShardQuantity(FIRST_BOOK_ID, 0, 1),
+                new ShardQuantity(SECOND_BOOK_ID, 0, 1)));
+        verify(bookStockRepository, Mockito.never()).increment(anyList());
+    }
+
+    @Test
+    @DisplayName("Verify reserve() releases reserved books when a tracked book runs out")
+    public void reserve_TrackedBookOutOfStock_ReleasesReservedBooks() {
+        //given
+        Mockito.when(bookStockRepository.decrement(anyList())).thenReturn(new int[]{1, 0});
+        Mockito.when(bookStockRepository.lockShards(SECOND_BOOK_ID))
+                .thenReturn(List.of(new ShardQuantity(SECOND_BOOK_ID, 0, 0)));
+
+        //when
+        assertThrows(OutOfStockException.class, () -> inventoryServiceImpl.reserve(
+                Map.of(FIRST_BOOK_ID, 1, SECOND_BOOK_ID, 1)));
+
+        //then
+        verify(bookStockRepository, Mockito.times(1)).increment(List.of(
+                new ShardQuantity(FIRST_BOOK_ID, 0, 1)));
+    }
+}
@@ -0,0 +1,125 @@
+package book.store.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import book.store.dto.book.UpdateBookStockRequestDto;
+import book.store.dto.order.PlaceOrderRequestDto;
+import book.store.exception.OutOfStockException;
+import book.store.model.User;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class OrderServiceConcurrencyTest {
+    private static final long BOOK_ID = 1000L;
+    private static final long FIRST_ID = 1000L;
+    private static final int CHECKOUTS = 500;
+    private static final int THREADS = 50;
+    private static final int STOCK = 100;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private InventoryService inventoryService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void beforeEach() {
+        jdbcTemplate.update("INSERT INTO books (id, title, author, isbn, price, is_deleted) "
+                + "VALUES (?, 'Bestseller', 'Author', 'ISBN-BESTSELLER', 10.00, false)", BOOK_ID);
+        List<Long> ids = LongStream.range(FIRST_ID, FIRST_ID + CHECKOUTS).boxed().toList();
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, email, password, first_name, last_name, "
+                + "is_deleted) VALUES (?, ?, 'password', 'First', 'Last', false)", ids, ids.size(),
+                (statement, id) -> {
+                    statement.setLong(1, id);
+                    statement.setString(2, "buyer" + id + "@example.com");
+                });
+        jdbcTemplate.batchUpdate("INSERT INTO shopping_carts (id, user_id, is_deleted) "
+                + "VALUES (?, ?, false)", ids, ids.size(), (statement, id) -> {
+                    statement.setLong(1, id);
+                    statement.setLong(2, id);
+                });
+        jdbcTemplate.batchUpdate("INSERT INTO cart_items (id, shopping_cart_id, book_id, quantity) "
+                + "VALUES (?, ?, ?, 1)", ids, ids.size(), (statement, id) -> {
+                    statement.setLong(1, id);
+                    statement.setLong(2, id);
+                    statement.setLong(3, BOOK_ID);
+                });
+        jdbcTemplate.update("UPDATE id_generators SET next_val = GREATEST(next_val, ?) "
+                + "WHERE sequence_name = 'cart_items'", FIRST_ID + CHECKOUTS);
+        inventoryService.updateStock(BOOK_ID, new UpdateBookStockRequestDto().setQuantity(STOCK));
+    }
+
+    @AfterEach
+    public void afterEach() {
+        jdbcTemplate.update("DELETE FROM order_items WHERE book_id = ?", BOOK_ID);
+        jdbcTemplate.update("DELETE FROM orders WHERE user_id >= ?", FIRST_ID);
+        jdbcTemplate.update("DELETE FROM outbox_events");
+        jdbcTemplate.update("DELETE FROM cart_items WHERE book_id = ?", BOOK_ID);
+        jdbcTemplate.update("DELETE FROM shopping_carts WHERE user_id >= ?", FIRST_ID);
+        jdbcTemplate.update("DELETE FROM users WHERE id >= ?", FIRST_ID);
+        jdbcTemplate.update("DELETE FROM book_stock WHERE book_id = ?", BOOK_ID);
+        jdbcTemplate.update("DELETE FROM books WHERE id = ?", BOOK_ID);
+    }
+
+    @Test
+    @DisplayName("Verify parallel checkouts of one book never sell more copies than in stock")
+    public void placeOrder_ParallelCheckoutsOfOneBook_DoesNotOversell() throws Exception {
+        //given
+        PlaceOrderRequestDto requestDto = new PlaceOrderRequestDto();
+        requestDto.setShippingAddress("Kyiv");
+        AtomicInteger placedOrders = new AtomicInteger();
+        AtomicInteger outOfStockOrders = new AtomicInteger();
+        AtomicInteger conflictingOrders = new AtomicInteger();
+        CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        //when
+        for (long userId = FIRST_ID; userId < FIRST_ID + CHECKOUTS; userId++) {
+            User user = new User().setId(userId);
+            executor.execute(() -> {
+                try {
+                    startSignal.await();
+                    orderService.placeOrder(user, requestDto);
+                    placedOrders.incrementAndGet();
+                } catch (OutOfStockException e) {
+                    outOfStockOrders.incrementAndGet();
+                } catch (ConcurrencyFailureException e) {
+                    conflictingOrders.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        startSignal.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+
+        //then
+        int remainingStock = inventoryService.getStock(BOOK_ID).getQuantity();
+        assertEquals(CHECKOUTS, placedOrders.get() + outOfStockOrders.get()
+                + conflictingOrders.get());
+        assertEquals(STOCK, placedOrders.get() + remainingStock);
+        assertEquals(0, remainingStock);
+        assertEquals(placedOrders.get(), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE user_id >= ?", Integer.class, FIRST_ID));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM book_stock WHERE book_id = ? AND quantity < 0",
+                Integer.class, BOOK_ID));
+    }
+}
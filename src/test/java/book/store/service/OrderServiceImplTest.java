@@ -0,0 +1,267 @@
+package book.store.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import book.store.dto.order.OrderDto;
+import book.store.dto.order.PlaceOrderRequestDto;
+import book.store.dto.order.UpdateOrderStatusRequestDto;
+import book.store.exception.OrderPlacementRejectedException;
+import book.store.exception.OutOfStockException;
+import book.store.mapper.OrderMapper;
+import book.store.model.Book;
+import book.store.model.CartItem;
+import book.store.model.Order;
+import book.store.model.OrderItem;
+import book.store.model.OutboxEvent;
+import book.store.model.ShoppingCart;
+import book.store.model.User;
+import book.store.order.OrderPlacementQueue;
+import book.store.outbox.OrderEventOutbox;
+import book.store.repository.order.OrderRepository;
+import book.store.repository.shopping.cart.ShoppingCartRepository;
+import book.store.repository.shopping.cart.item.CartItemRepository;
+import book.store.service.impl.OrderServiceImpl;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderServiceImplTest {
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private ShoppingCartRepository shoppingCartRepository;
+    @Mock
+    private CartItemRepository cartItemRepository;
+    @Mock
+    private OrderMapper orderMapper;
+    @Mock
+    private OrderPlacementQueue orderPlacementQueue;
+    @Mock
+    private OrderEventOutbox orderEventOutbox;
+    @Mock
+    private InventoryService inventoryService;
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(
+            Mockito.mock(PlatformTransactionManager.class));
+    @InjectMocks
+    private OrderServiceImpl orderServiceImpl;
+
+    @Test
+    @DisplayName("Verify placeOrderAsync() moves the cart into a processing order and enqueues it")
+    public void placeOrderAsync_NonEmptyCart_SnapshotsCartAndEnqueuesOrder() {
+        //given
+        OrderDto expectedOrderDto = new OrderDto();
+        expectedOrderDto.setId(1L);
+        expectedOrderDto.setStatus(Order.Status.PROCESSING);
+        PlaceOrderRequestDto requestDto = new PlaceOrderRequestDto();
+        requestDto.setShippingAddress("Kyiv");
+        User user = new User().setId(2L);
+        ShoppingCart shoppingCart = new ShoppingCart().setId(2L).setUser(user);
+        Set<CartItem> cartItems = Set.of(new CartItem()
+                .setId(1L)
+                .setQuantity(3)
+                .setBook(new Book().setId(1L).setPrice(new BigDecimal("10.50"))));
+
+        Mockito.when(orderPlacementQueue.hasCapacity()).thenReturn(true);
+        Mockito.when(orderPlacementQueue.getOwner()).thenReturn("owner");
+        Mockito.when(orderPlacementQueue.getLeaseUntil(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0, LocalDateTime.class)
+                        .plusMinutes(5));
+        Mockito.when(shoppingCartRepository.findShoppingCartByUserId(user.getId()))
+                .thenReturn(Optional.of(shoppingCart));
+        Mockito.when(cartItemRepository.findAllByShoppingCartId(shoppingCart.getId()))
+                .thenReturn(cartItems);
+        Mockito.when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId(1L);
+            return order;
+        });
+        Mockito.when(orderMapper.toDto(any(Order.class))).thenReturn(expectedOrderDto);
+        ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
+
+        //when
+        OrderDto actualOrderDto = orderServiceImpl.placeOrderAsync(user, requestDto);
+
+        //then
+        assertEquals(expectedOrderDto, actualOrderDto);
+        verify(orderRepository, Mockito.times(1)).save(orderCaptor.capture());
+        Order savedOrder = orderCaptor.getValue();
+        assertEquals(Order.Status.PROCESSING, savedOrder.getStatus());
+        assertEquals(new BigDecimal("31.50"), savedOrder.getTotal());
+        assertEquals(1, savedOrder.getOrderItems().size());
+        assertEquals("owner", savedOrder.getPlacementOwner());
+        assertTrue(savedOrder.getPlacementLeaseUntil().isAfter(savedOrder.getOrderDate()));
+        verify(cartItemRepository, Mockito.times(1))
+                .softDeleteAllByShoppingCartIdIn(List.of(shoppingCart.getId()));
+        verify(orderPlacementQueue, Mockito.times(1)).offer(1L);
+        verifyNoInteractions(inventoryService);
+    }
+
+    @Test
+    @DisplayName("Verify placeOrderAsync() inside an outer transaction enqueues the order "
+            + "only after commit")
+    public void placeOrderAsync_OuterTransaction_EnqueuesOrderAfterCommit() {
+        //given
+        PlaceOrderRequestDto requestDto = new PlaceOrderRequestDto();
+        requestDto.setShippingAddress("Kyiv");
+        User user = new User().setId(2L);
+        ShoppingCart shoppingCart = new ShoppingCart().setId(2L).setUser(user);
+
+        Mockito.when(orderPlacementQueue.hasCapacity()).thenReturn(true);
+        Mockito.when(shoppingCartRepository.findShoppingCartByUserId(user.getId()))
+                .thenReturn(Optional.of(shoppingCart));
+        Mockito.when(cartItemRepository.findAllByShoppingCartId(shoppingCart.getId()))
+                .thenReturn(Set.of(new CartItem()
+                        .setId(1L)
+                        .setQuantity(1)
+                        .setBook(new Book().setId(1L).setPrice(BigDecimal.TEN))));
+        Mockito.when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId(1L);
+            return order;
+        });
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            //when
+            orderServiceImpl.placeOrderAsync(user, requestDto);
+            Mockito.verify(orderPlacementQueue, Mockito.never()).offer(any());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        //then
+        verify(orderPlacementQueue, Mockito.times(1)).offer(1L);
+    }
+
+    @Test
+    @DisplayName("Verify placeOrderAsync() rejects the order without touching the cart "
+            + "when the queue is full")
+    public void placeOrderAsync_FullQueue_ThrowsException() {
+        //given
+        User user = new User().setId(2L);
+        PlaceOrderRequestDto requestDto = new PlaceOrderRequestDto();
+        requestDto.setShippingAddress("Kyiv");
+
+        Mockito.when(orderPlacementQueue.hasCapacity()).thenReturn(false);
+
+        //when
+        assertThrows(OrderPlacementRejectedException.class,
+                () -> orderServiceImpl.placeOrderAsync(user, requestDto));
+
+        //then
+        verifyNoInteractions(orderRepository, shoppingCartRepository, cartItemRepository);
+    }
+
+    @Test
+    @DisplayName("Verify completePlacements() accepts orders from their snapshotted items")
+    public void completePlacements_ProcessingOrder_ReservesItemsAndAcceptsOrder() {
+        //given
+        Order order = createProcessingOrder(1L, new User().setId(2L));
+
+        Mockito.when(orderRepository.findAllByIdInAndStatus(List.of(1L),
+                        Order.Status.PROCESSING))
+                .thenReturn(List.of(order));
+
+        //when
+        orderServiceImpl.completePlacements(List.of(1L));
+
+        //then
+        assertEquals(Order.Status.ACCEPTED, order.getStatus());
+        assertNull(order.getPlacementOwner());
+        assertNull(order.getPlacementLeaseUntil());
+        verify(inventoryService, Mockito.times(1)).reserve(Map.of(1L, 3));
+        verify(orderEventOutbox, Mockito.times(1))
+                .append(eq(OutboxEvent.Type.ORDER_PLACED), any());
+        verifyNoInteractions(shoppingCartRepository, cartItemRepository);
+    }
+
+    @Test
+    @DisplayName("Verify updateOrderStatus() records a status change in the outbox")
+    public void updateOrderStatus_ValidStatus_AppendsOutboxEvent() {
+        //given
+        UpdateOrderStatusRequestDto requestDto = new UpdateOrderStatusRequestDto();
+        requestDto.setStatus("delivered");
+        OrderDto expectedOrderDto = new OrderDto();
+        expectedOrderDto.setId(1L);
+        expectedOrderDto.setStatus(Order.Status.DELIVERED);
+        Order order = createProcessingOrder(1L, new User().setId(2L));
+
+        Mockito.when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        Mockito.when(orderRepository.save(order)).thenReturn(order);
+        Mockito.when(orderMapper.toDto(order)).thenReturn(expectedOrderDto);
+
+        //when
+        OrderDto actualOrderDto = orderServiceImpl.updateOrderStatus(1L, requestDto);
+
+        //then
+        assertEquals(expectedOrderDto, actualOrderDto);
+        assertEquals(Order.Status.DELIVERED, order.getStatus());
+        verify(orderEventOutbox, Mockito.times(1))
+                .append(OutboxEvent.Type.ORDER_STATUS_CHANGED, expectedOrderDto);
+    }
+
+    @Test
+    @DisplayName("Verify completePlacements() rejects orders whose books are out of stock")
+    public void completePlacements_OutOfStockBooks_RejectsOrder() {
+        //given
+        Order order = createProcessingOrder(1L, new User().setId(2L));
+
+        Mockito.when(orderRepository.findAllByIdInAndStatus(List.of(1L),
+                        Order.Status.PROCESSING))
+                .thenReturn(List.of(order));
+        Mockito.doThrow(new OutOfStockException("Not enough copies"))
+                .when(inventoryService).reserve(Map.of(1L, 3));
+
+        //when
+        orderServiceImpl.completePlacements(List.of(1L));
+
+        //then
+        assertEquals(Order.Status.REJECTED, order.getStatus());
+        assertEquals(1, order.getOrderItems().size());
+        verify(orderEventOutbox, Mockito.times(1))
+                .append(eq(OutboxEvent.Type.ORDER_STATUS_CHANGED), any());
+    }
+
+    private Order createProcessingOrder(Long id, User user) {
+        OrderItem orderItem = new OrderItem();
+        orderItem.setBook(new Book().setId(1L).setPrice(new BigDecimal("10.50")));
+        orderItem.setQuantity(3);
+        orderItem.setPrice(orderItem.getBook().getPrice());
+        Order order = new Order();
+        order.setId(id);
+        order.setUser(user);
+        order.setStatus(Order.Status.PROCESSING);
+        order.setTotal(new BigDecimal("31.50"));
+        order.setPlacementOwner("owner");
+        order.setPlacementLeaseUntil(LocalDateTime.now());
+        order.setOrderItems(new LinkedHashSet<>(Set.of(orderItem)));
+        return order;
+    }
+}
@@ -1,13 +1,17 @@
 package book.store.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 
 import book.store.dto.shopping.cart.AddBookToShoppingCartRequestDto;
 import book.store.dto.shopping.cart.ShoppingCartDto;
 import book.store.dto.shopping.cart.UpdateBookQuantityRequestDto;
+import book.store.dto.shopping.cart.UpdateCartItemsRequestDto;
 import book.store.dto.shopping.cart.item.CartItemDto;
+import book.store.dto.shopping.cart.item.CartItemOperationDto;
+import book.store.exception.EntityNotFoundException;
 import book.store.mapper.ShoppingCartMapper;
 import book.store.model.Book;
 import book.store.model.CartItem;
@@ -17,10 +21,10 @@ import book.store.model.User;
 import book.store.repository.book.BookRepository;
 import book.store.repository.shopping.cart.ShoppingCartRepository;
 import book.store.repository.shopping.cart.item.CartItemRepository;
-import book.store.repository.user.UserRepository;
 import book.store.service.impl.ShoppingCartServiceImpl;
 import java.math.BigDecimal;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -35,8 +39,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
 public class ShoppingCartServiceImplTest {
-    @Mock
-    private UserRepository userRepository;
     @Mock
     private BookRepository bookRepository;
     @Mock
@@ -49,15 +51,13 @@ public class ShoppingCartServiceImplTest {
     private ShoppingCartServiceImpl shoppingCartServiceImpl;
 
     @Test
-    @DisplayName("Verify getShoppingCartByUser() method works")
-    public void getShoppingCartByUser_ValidUserEmail_ReturnsValidShoppingCartDto() {
+    @DisplayName("Verify getShoppingCartByUserId() method works")
+    public void getShoppingCartByUserId_ValidUserId_ReturnsValidShoppingCartDto() {
         //given
         User user2 = createUserWithId2();
         ShoppingCart expectedShoppingCart = createModelShoppingCart2(user2);
         ShoppingCartDto expectedShoppingCartDto = createModelShoppingCart2Dto(expectedShoppingCart);
 
-        Mockito.when(userRepository.findByEmail(user2.getEmail()))
-                .thenReturn(Optional.of(user2));
         Mockito.when(shoppingCartRepository.findShoppingCartByUserId(user2.getId()))
                 .thenReturn(Optional.of(expectedShoppingCart));
         Mockito.when(shoppingCartMapper.toDto(expectedShoppingCart))
@@ -65,13 +65,11 @@ public class ShoppingCartServiceImplTest {
 
         //when
         ShoppingCartDto actualShoppingCartDto = shoppingCartServiceImpl
-                .getShoppingCartByUser(user2.getEmail());
+                .getShoppingCartByUserId(user2.getId());
 
         //then
         assertEquals(expectedShoppingCartDto, actualShoppingCartDto);
 
-        verify(userRepository, Mockito.times(1))
-                .findByEmail(user2.getEmail());
         verify(shoppingCartRepository, Mockito.times(1))
                 .findShoppingCartByUserId(user2.getId());
         verify(shoppingCartMapper, Mockito.times(1))
@@ -80,7 +78,7 @@ public class ShoppingCartServiceImplTest {
 
     @Test
     @DisplayName("Verify addBookToShoppingCart() method works")
-    public void addBookToShoppingCart_ValidUserEmailAndRequest_ReturnsValidShoppingCartDto() {
+    public void addBookToShoppingCart_ValidUserIdAndRequest_ReturnsValidShoppingCartDto() {
         //given
         AddBookToShoppingCartRequestDto requestDto = new AddBookToShoppingCartRequestDto()
                 .setBookId(3L)
@@ -94,8 +92,6 @@ public class ShoppingCartServiceImplTest {
         newShoppingCart.getCartItems().add(newCartItem);
         ShoppingCartDto expectedShoppingCartDto = createModelShoppingCart2Dto(newShoppingCart);
 
-        Mockito.when(userRepository.findByEmail(user2.getEmail()))
-                .thenReturn(Optional.of(user2));
         Mockito.when(shoppingCartRepository.findShoppingCartByUserId(user2.getId()))
                 .thenReturn(Optional.of(initialShoppingCart));
         Mockito.when(bookRepository.findBookById(newBook.getId()))
@@ -109,13 +105,11 @@ public class ShoppingCartServiceImplTest {
 
         //when
         ShoppingCartDto actualShoppingCartDto = shoppingCartServiceImpl
-                .addBookToShoppingCart(user2.getEmail(), requestDto);
+                .addBookToShoppingCart(user2.getId(), requestDto);
 
         //then
         assertEquals(expectedShoppingCartDto, actualShoppingCartDto);
 
-        verify(userRepository, Mockito.times(1))
-                .findByEmail(user2.getEmail());
         verify(shoppingCartRepository, Mockito.times(1))
                 .findShoppingCartByUserId(user2.getId());
         verify(bookRepository, Mockito.times(1))
@@ -132,7 +126,6 @@ public class ShoppingCartServiceImplTest {
     @DisplayName("Verify updateBookQuantityInCartItem() method works")
     public void updateBookQuantityInCartItem_ValidItemIdAndRequest_ReturnsValidShoppingCartDto() {
         //given
-        Long cartItemId = 2L;
         UpdateBookQuantityRequestDto updateRequestDto = new UpdateBookQuantityRequestDto()
                 .setQuantity(100);
 
@@ -146,32 +139,86 @@ public class ShoppingCartServiceImplTest {
         ShoppingCart newShoppingCart = initialShoppingCart.setCartItems(newCartItemSet);
         ShoppingCartDto expectedShoppingCartDto = createModelShoppingCart2Dto(newShoppingCart);
 
-        Mockito.when(cartItemRepository.findById(cartItemId))
-                .thenReturn(Optional.of(initialCartItem));
-        Mockito.when(cartItemRepository.save(newCartItem))
-                .thenReturn(newCartItem);
         Mockito.when(shoppingCartRepository.findShoppingCartByUserId(user2.getId()))
                 .thenReturn(Optional.of(newShoppingCart));
         Mockito.when(shoppingCartMapper.toDto(newShoppingCart))
                 .thenReturn(expectedShoppingCartDto);
 
+        Long cartItemId = 2L;
+
         //when
         ShoppingCartDto actualShoppingCartDto = shoppingCartServiceImpl
-                .updateBookQuantityInCartItem(cartItemId, updateRequestDto);
+                .updateBookQuantityInCartItem(user2.getId(), cartItemId, updateRequestDto);
 
         //then
         assertEquals(expectedShoppingCartDto, actualShoppingCartDto);
 
-        verify(cartItemRepository, Mockito.times(1))
-                .findById(cartItemId);
-        verify(cartItemRepository, Mockito.times(1))
-                .save(newCartItem);
         verify(shoppingCartRepository, Mockito.times(1))
                 .findShoppingCartByUserId(user2.getId());
+        verify(shoppingCartRepository, Mockito.times(1))
+                .incrementVersion(newShoppingCart);
         verify(shoppingCartMapper, Mockito.times(1))
                 .toDto(newShoppingCart);
     }
 
+    @Test
+    @DisplayName("Verify updateCartItems() method updates quantities in one pass")
+    public void updateCartItems_UpdateOperation_ReturnsValidShoppingCartDto() {
+        //given
+        User user2 = createUserWithId2();
+        ShoppingCart shoppingCart = createModelShoppingCart2(user2);
+        UpdateCartItemsRequestDto requestDto = new UpdateCartItemsRequestDto()
+                .setOperations(List.of(new CartItemOperationDto()
+                        .setType(CartItemOperationDto.Type.UPDATE)
+                        .setBookId(2L)
+                        .setQuantity(5)));
+        ShoppingCartDto expectedShoppingCartDto = new ShoppingCartDto()
+                .setId(2L)
+                .setUserId(2L);
+
+        Mockito.when(shoppingCartRepository.findShoppingCartByUserId(user2.getId()))
+                .thenReturn(Optional.of(shoppingCart));
+        Mockito.when(shoppingCartMapper.toDto(shoppingCart))
+                .thenReturn(expectedShoppingCartDto);
+
+        //when
+        ShoppingCartDto actualShoppingCartDto = shoppingCartServiceImpl
+                .updateCartItems(user2.getId(), requestDto);
+
+        //then
+        assertEquals(expectedShoppingCartDto, actualShoppingCartDto);
+        assertEquals(5, shoppingCart.getCartItems().stream()
+                .findFirst()
+                .orElseThrow()
+                .getQuantity());
+
+        verify(bookRepository, Mockito.never()).findAllById(any());
+        verify(cartItemRepository, Mockito.times(1)).saveAll(List.of());
+        verify(cartItemRepository, Mockito.times(1)).deleteAll(List.of());
+        verify(shoppingCartRepository, Mockito.times(1)).incrementVersion(shoppingCart);
+    }
+
+    @Test
+    @DisplayName("Verify updateCartItems() method rejects removing a book that isn't in the cart")
+    public void updateCartItems_RemoveBookNotInCart_ThrowsEntityNotFoundException() {
+        //given
+        User user2 = createUserWithId2();
+        ShoppingCart shoppingCart = createModelShoppingCart2(user2);
+        UpdateCartItemsRequestDto requestDto = new UpdateCartItemsRequestDto()
+                .setOperations(List.of(new CartItemOperationDto()
+                        .setType(CartItemOperationDto.Type.REMOVE)
+                        .setBookId(3L)));
+
+        Mockito.when(shoppingCartRepository.findShoppingCartByUserId(user2.getId()))
+                .thenReturn(Optional.of(shoppingCart));
+
+        //when+then
+        assertThrows(EntityNotFoundException.class,
+                () -> shoppingCartServiceImpl.updateCartItems(user2.getId(), requestDto));
+
+        verify(cartItemRepository, Mockito.never()).deleteAll(any());
+    }
+
     private User createUserWithId2() {
         Set<Role> roleSet = new HashSet<>();
         roleSet.add(new Role().setRoleName(Role.RoleName.ROLE_USER));
@@ -206,8 +253,7 @@ public class ShoppingCartServiceImplTest {
                 .setId(2L)
                 .setShoppingCart(shoppingCart)
                 .setBook(book)
-                .setQuantity(20)
-                .setDeleted(false);
+                .setQuantity(20);
     }
 
     private @NotNull ShoppingCart createModelShoppingCart2(User user2) {
@@ -249,7 +295,6 @@ public class ShoppingCartServiceImplTest {
                 .setId(4L)
                 .setShoppingCart(shoppingCart)
                 .setBook(createBookBasedOnRequestDto(addBookToShoppingCartRequestDto))
-                .setQuantity(addBookToShoppingCartRequestDto.getQuantity())
-                .setDeleted(false);
+                .setQuantity(addBookToShoppingCartRequestDto.getQuantity());
     }
 }
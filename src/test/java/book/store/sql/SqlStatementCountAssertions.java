@@ -0,0 +1,25 @@
+package book.store.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.Callable;
+
+public final class SqlStatementCountAssertions {
+    private SqlStatementCountAssertions() {
+    }
+
+    public static <T> T assertStatementCount(SqlStatementCounter sqlStatementCounter,
+                                             int expectedCount,
+                                             Callable<T> action) throws Exception {
+        sqlStatementCounter.start();
+        T result;
+        try {
+            result = action.call();
+        } finally {
+            int actualCount = sqlStatementCounter.stop();
+            assertEquals(expectedCount, actualCount,
+                    "Unexpected number of SQL statements executed");
+        }
+        return result;
+    }
+}
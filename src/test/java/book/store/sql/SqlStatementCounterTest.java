@@ -0,0 +1,82 @@
+package book.store.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import book.store.exception.SqlStatementBudgetExceededException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+public class SqlStatementCounterTest {
+    private static final int BUDGET = 2;
+
+    @Test
+    @DisplayName("Statements run through JdbcTemplate are counted")
+    public void stop_JdbcTemplateStatements_ReturnsCount() {
+        //given
+        SqlStatementCounter sqlStatementCounter = new SqlStatementCounter(BUDGET, false);
+        JdbcTemplate jdbcTemplate = createJdbcTemplate(sqlStatementCounter);
+
+        //when
+        sqlStatementCounter.start();
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+        jdbcTemplate.batchUpdate("CREATE TABLE IF NOT EXISTS counted (id INT)",
+                "DELETE FROM counted");
+        int count = sqlStatementCounter.stop();
+
+        //then
+        assertEquals(2, count);
+    }
+
+    @Test
+    @DisplayName("Nested counts see their own statements and the outer count sees all of them")
+    public void stop_NestedStart_CountsEachLevel() {
+        //given
+        SqlStatementCounter sqlStatementCounter = new SqlStatementCounter(BUDGET, false);
+        JdbcTemplate jdbcTemplate = createJdbcTemplate(sqlStatementCounter);
+
+        //when
+        sqlStatementCounter.start();
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+        sqlStatementCounter.start();
+        jdbcTemplate.queryForObject("SELECT 2", Integer.class);
+        int innerCount = sqlStatementCounter.stop();
+        int outerCount = sqlStatementCounter.stop();
+
+        //then
+        assertEquals(1, innerCount);
+        assertEquals(2, outerCount);
+        assertEquals(0, sqlStatementCounter.stop());
+    }
+
+    @Test
+    @DisplayName("The statement that crosses the budget fails when rejection is on")
+    public void count_OverBudget_ThrowsException() {
+        //given
+        SqlStatementCounter sqlStatementCounter = new SqlStatementCounter(BUDGET, true);
+        JdbcTemplate jdbcTemplate = createJdbcTemplate(sqlStatementCounter);
+        sqlStatementCounter.start();
+
+        //when
+        try {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            jdbcTemplate.queryForObject("SELECT 2", Integer.class);
+
+            //then
+            assertThrows(SqlStatementBudgetExceededException.class,
+                    () -> jdbcTemplate.queryForObject("SELECT 3", Integer.class));
+        } finally {
+            sqlStatementCounter.stop();
+        }
+    }
+
+    private JdbcTemplate createJdbcTemplate(SqlStatementCounter sqlStatementCounter) {
+        DataSource dataSource = (DataSource) sqlStatementCounter.postProcessAfterInitialization(
+                new DriverManagerDataSource("jdbc:h2:mem:statement-counter;DB_CLOSE_DELAY=-1"),
+                "dataSource");
+        return new JdbcTemplate(dataSource);
+    }
+}
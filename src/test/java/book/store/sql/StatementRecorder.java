@@ -0,0 +1,109 @@
+package book.store.sql;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.sql.DataSource;
+
+public class StatementRecorder {
+    private final List<RecordedStatement> statements = new ArrayList<>();
+    private volatile Thread recordingThread;
+
+    public DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, (method, args) ->
+                method.getName().equals("getConnection")
+                        ? wrap((Connection) invoke(dataSource, method, args))
+                        : invoke(dataSource, method, args));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, (method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (method.getName().equals("prepareStatement")) {
+                return wrap((PreparedStatement) result, (String) args[0]);
+            }
+            if (method.getName().equals("createStatement")) {
+                return wrap((Statement) result);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement wrap(PreparedStatement statement, String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return proxy(PreparedStatement.class, (method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length > 1
+                    && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.startsWith("execute") || name.equals("addBatch")) {
+                record(sql, new ArrayList<>(parameters.values()));
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private Statement wrap(Statement statement) {
+        return proxy(Statement.class, (method, args) -> {
+            if ((method.getName().startsWith("execute") || method.getName().equals("addBatch"))
+                    && args != null && args.length > 0 && args[0] instanceof String sql) {
+                record(sql, List.of());
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    public void start() {
+        synchronized (statements) {
+            statements.clear();
+        }
+        recordingThread = Thread.currentThread();
+    }
+
+    public List<RecordedStatement> stop() {
+        recordingThread = null;
+        synchronized (statements) {
+            return List.copyOf(statements);
+        }
+    }
+
+    private void record(String sql, List<Object> parameters) {
+        if (recordingThread == Thread.currentThread()) {
+            synchronized (statements) {
+                statements.add(new RecordedStatement(sql, parameters));
+            }
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Interceptor interceptor) {
+        InvocationHandler handler = (proxy, method, args) -> interceptor.intercept(method, args);
+        return (T) Proxy.newProxyInstance(StatementRecorder.class.getClassLoader(),
+                new Class<?>[]{type}, handler);
+    }
+
+    private interface Interceptor {
+        Object intercept(Method method, Object[] args) throws Throwable;
+    }
+
+    public record RecordedStatement(String sql, List<Object> parameters) {
+    }
+}
@@ -1,3 +1,5 @@
+DELETE FROM book_stock;
+
 DELETE FROM books_categories;
 
 DELETE FROM books;
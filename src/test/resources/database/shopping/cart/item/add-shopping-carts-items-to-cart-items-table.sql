@@ -1,5 +1,7 @@
-INSERT INTO cart_items (id, shopping_cart_id, book_id, quantity, is_deleted)
+INSERT INTO cart_items (id, shopping_cart_id, book_id, quantity)
 VALUES
-    (1, 1, 1, 10, false),
-    (2, 2, 2, 20, false),
-    (3, 3, 3, 30, false);
\ No newline at end of file
+    (1, 1, 1, 10),
+    (2, 2, 2, 20),
+    (3, 3, 3, 30);
+
+UPDATE id_generators SET next_val = 4 WHERE sequence_name = 'cart_items';
\ No newline at end of file
@@ -1 +1,2 @@
+DELETE FROM idempotency_keys;
 DELETE FROM users;
\ No newline at end of file